@@ -0,0 +1,104 @@
+package com.example.rubankfx;
+
+import com.example.rubankfx.core.Account;
+
+import java.util.AbstractList;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * Read-only list of the accounts of a database, in sorted order, for a {@link javafx.scene.control.ListView}.
+ * No row is stored: a row is rendered from its account only when the list view's virtual flow asks for it,
+ * so memory and the work of showing the list depend on the visible rows, not on the number of accounts.
+ * <p>
+ * The rows are the copies passed to the last {@link #show(Account[])}, taken off the application thread with
+ * {@link com.example.rubankfx.core.AccountDatabase#sortedCopies()}, so rendering a row never waits for
+ * the database's locks. A new set of rows is reported as one replacement of the whole list.
+ * Must only be used on the JavaFX application thread.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+final class AccountListAdapter extends ObservableListBase<String> {
+
+    /** Builder every row is rendered into. */
+    private final StringBuilder line = new StringBuilder(128);
+
+    /** Rows as of the last show. */
+    private Rows rows = new Rows(new Account[0]);
+
+    /**
+     * Shows a new set of accounts and tells the listeners that every row has changed.
+     * The rows that are replaced are only rendered if a listener asks for them.
+     *
+     * @param accounts copies of the accounts in sorted order, which are not changed afterwards.
+     */
+    void show(Account[] accounts) {
+        Rows removed = rows;
+        rows = new Rows(accounts);
+        beginChange();
+        nextReplace(0, rows.size(), removed);
+        endChange();
+    }
+
+    /**
+     * Renders the row at a position.
+     *
+     * @param index the position of the row.
+     * @return the account at that position in its {@code toString} format.
+     * @throws IndexOutOfBoundsException if there is no such row.
+     */
+    @Override
+    public String get(int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the number of accounts as of the last show.
+     */
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Fixed sequence of accounts whose rows are rendered on demand.
+     */
+    private final class Rows extends AbstractList<String> {
+
+        /** Accounts in row order. */
+        private final Account[] accounts;
+
+        /**
+         * Creates the rows of a set of accounts.
+         *
+         * @param accounts the accounts in row order.
+         */
+        Rows(Account[] accounts) {
+            this.accounts = accounts;
+        }
+
+        /**
+         * Renders a row.
+         *
+         * @param index the position of the row.
+         * @return the account at that position in its {@code toString} format.
+         */
+        @Override
+        public String get(int index) {
+            line.setLength(0);
+            return accounts[index].appendTo(line).toString();
+        }
+
+        /**
+         * Returns the number of rows.
+         *
+         * @return the number of accounts.
+         */
+        @Override
+        public int size() {
+            return accounts.length;
+        }
+    }
+}
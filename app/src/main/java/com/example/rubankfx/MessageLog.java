@@ -0,0 +1,265 @@
+package com.example.rubankfx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * Bounded log of messages for a {@link javafx.scene.control.ListView}. Only the last {@code capacity}
+ * messages are kept, in a ring buffer, so a noisy import cannot grow the list or the memory behind it;
+ * every message is still counted under its own text, and {@link #summary()} reports those counts.
+ * <p>
+ * Any thread may {@link #post} a message. Posted messages wait in a second ring of the same size, so that
+ * the list and its listeners only change on the JavaFX application thread, once per {@link #flush()}: the
+ * rows pushed out and the rows added are reported as one change. A post that finds no message waiting runs
+ * the {@code waiting} callback, so the owner only needs to schedule flushes while there is something to show.
+ * Apart from {@code post} and {@link #hasPending()}, every method must be called on the application thread.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+final class MessageLog extends ObservableListBase<String> {
+
+    /** Most messages kept, both shown and waiting. */
+    private final int capacity;
+
+    /** Run, on the posting thread, by a post that finds no message waiting. */
+    private final Runnable waiting;
+
+    /** Rows shown, as a ring starting at {@link #start}. */
+    private final String[] rows;
+
+    /** Index in {@link #rows} of the first row. */
+    private int start;
+
+    /** Number of rows. */
+    private int size;
+
+    /** Sequence number of the message after the last row. */
+    private long shown;
+
+    /** Guards the messages waiting for the next flush and the counts. */
+    private final Object lock = new Object();
+
+    /** Messages posted since the last flush, as a ring starting at {@link #pendingStart}. Guarded by lock. */
+    private final String[] pending;
+
+    /** Index in {@link #pending} of the oldest waiting message. Guarded by lock. */
+    private int pendingStart;
+
+    /** Number of waiting messages. Guarded by lock. */
+    private int pendingSize;
+
+    /** Sequence number the next message will get. Guarded by lock. */
+    private long next;
+
+    /** Number of messages posted with each text since the counts were last reset. Guarded by lock. */
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    /**
+     * Creates an empty log.
+     *
+     * @param capacity the number of messages to keep.
+     * @param waiting  run by a post that finds no message waiting, e.g. to schedule a flush; it must be
+     *                 safe to call from any thread.
+     */
+    MessageLog(int capacity, Runnable waiting) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.waiting = waiting;
+        this.rows = new String[capacity];
+        this.pending = new String[capacity];
+    }
+
+    /**
+     * Adds a message to be shown at the next flush, and counts it. If more than {@code capacity} messages
+     * are waiting, the oldest is dropped, though it stays counted. Safe to call from any thread.
+     *
+     * @param message the message.
+     * @return the sequence number of the message, for {@link #update}.
+     */
+    long post(String message) {
+        long sequence;
+        boolean first;
+        synchronized (lock) {
+            first = pendingSize == 0;
+            counts.merge(message, 1, Integer::sum);
+            if (pendingSize == capacity) {
+                pending[pendingStart] = message;
+                pendingStart = (pendingStart + 1) % capacity;
+            }
+            else {
+                pending[(pendingStart + pendingSize++) % capacity] = message;
+            }
+            sequence = next++;
+        }
+        if (first) {
+            waiting.run();
+        }
+        return sequence;
+    }
+
+    /**
+     * Checks whether messages are waiting for the next flush. Safe to call from any thread.
+     *
+     * @return whether a flush would add rows.
+     */
+    boolean hasPending() {
+        synchronized (lock) {
+            return pendingSize > 0;
+        }
+    }
+
+    /**
+     * Replaces the text of a message that is still waiting or shown, without counting it again.
+     *
+     * @param sequence the sequence number returned by {@link #post}.
+     * @param text     the new text.
+     * @return whether the message was still kept.
+     */
+    boolean update(long sequence, String text) {
+        synchronized (lock) {
+            long firstPending = next - pendingSize;
+            if (sequence >= firstPending && sequence < next) {
+                pending[(pendingStart + (int) (sequence - firstPending)) % capacity] = text;
+                return true;
+            }
+        }
+        long first = shown - size;
+        if (sequence < first || sequence >= shown) {
+            return false;
+        }
+        int index = (int) (sequence - first);
+        int slot = (start + index) % capacity;
+        String old = rows[slot];
+        rows[slot] = text;
+        beginChange();
+        nextSet(index, old);
+        endChange();
+        return true;
+    }
+
+    /**
+     * Moves the waiting messages into the rows, dropping the oldest rows beyond the capacity, and reports
+     * it to the listeners as one change.
+     *
+     * @return whether any row was added.
+     */
+    boolean flush() {
+        String[] added;
+        synchronized (lock) {
+            if (pendingSize == 0) {
+                return false;
+            }
+            added = new String[pendingSize];
+            for (int i = 0; i < pendingSize; i++) {
+                int slot = (pendingStart + i) % capacity;
+                added[i] = pending[slot];
+                pending[slot] = null;
+            }
+            pendingStart = 0;
+            pendingSize = 0;
+            shown = next;
+        }
+        int evicted = Math.max(0, size + added.length - capacity);
+        List<String> removed = new ArrayList<>(evicted);
+        for (int i = 0; i < evicted; i++) {
+            removed.add(rows[(start + i) % capacity]);
+        }
+        start = (start + evicted) % capacity;
+        size -= evicted;
+        int from = size;
+        for (String message : added) {
+            rows[(start + size++) % capacity] = message;
+        }
+        beginChange();
+        if (evicted > 0) {
+            nextRemove(0, removed);
+        }
+        nextAdd(from, size);
+        endChange();
+        return true;
+    }
+
+    /**
+     * Removes every row and every waiting message. The counts are kept.
+     */
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            Arrays.fill(pending, null);
+            pendingStart = 0;
+            pendingSize = 0;
+            shown = next;
+        }
+        if (size == 0) {
+            return;
+        }
+        List<String> removed = new ArrayList<>(this);
+        Arrays.fill(rows, null);
+        start = 0;
+        size = 0;
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    /**
+     * Forgets the counts of the messages posted so far.
+     */
+    void resetCounts() {
+        synchronized (lock) {
+            counts.clear();
+        }
+    }
+
+    /**
+     * Describes how many times each message has been posted since the counts were last reset, such as
+     * "12,345 &times; Invalid number! Please enter a valid number!", most frequent first.
+     *
+     * @return one line per distinct message.
+     */
+    List<String> summary() {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        synchronized (lock) {
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                entries.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        List<String> lines = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Integer> entry : entries) {
+            lines.add(String.format("%,d \u00D7 %s", entry.getValue(), entry.getKey()));
+        }
+        return lines;
+    }
+
+    /**
+     * Returns a row.
+     *
+     * @param index the position of the row, 0 being the oldest message kept.
+     * @return the message.
+     * @throws IndexOutOfBoundsException if there is no such row.
+     */
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        return rows[(start + index) % capacity];
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the number of messages shown.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+}
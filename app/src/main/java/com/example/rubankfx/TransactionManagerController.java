@@ -1,4 +1,20 @@
 package com.example.rubankfx;
+import com.example.rubankfx.core.Account;
+import com.example.rubankfx.core.AccountDatabase;
+import com.example.rubankfx.core.AccountFileParser;
+import com.example.rubankfx.core.Checking;
+import com.example.rubankfx.core.CollegeChecking;
+import com.example.rubankfx.core.Date;
+import com.example.rubankfx.core.ImportProgress;
+import com.example.rubankfx.core.MoneyMarket;
+import com.example.rubankfx.core.Profile;
+import com.example.rubankfx.core.Savings;
+import com.example.rubankfx.core.TransactionJournal;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -6,13 +22,19 @@ import javafx.scene.Node;
 import javafx.scene.control.*;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import javafx.scene.control.ToggleGroup;
 import javafx.scene.control.Alert;
 import javafx.stage.FileChooser;
@@ -34,6 +56,21 @@ public class TransactionManagerController implements Initializable{
     /** Represents the database of accounts. */
     AccountDatabase database = new AccountDatabase();
 
+    /** Name of the journal file, in the working directory, that the database is recovered from. */
+    private static final String JOURNAL_FILE = "transactions.journal";
+
+    /** Number of messages each message view keeps. */
+    private static final int LOG_CAPACITY = 10_000;
+
+    /** Messages shown in the messageListView. */
+    private final MessageLog messageLog = new MessageLog(LOG_CAPACITY, this::wakePulse);
+
+    /** Messages shown in the withdrawView. */
+    private final MessageLog withdrawLog = new MessageLog(LOG_CAPACITY, this::wakePulse);
+
+    /** Messages shown in the accountsListView when it is not showing accounts or fees. */
+    private final MessageLog accountLog = new MessageLog(LOG_CAPACITY, this::wakePulse);
+
     /** Toggle group for campus radio buttons, ensuring mutual exclusivity in campus selection. */
     @FXML
     private ToggleGroup campusToggleGroup;
@@ -157,16 +194,16 @@ public class TransactionManagerController implements Initializable{
         try {
             LocalDate localDate = OC_DOB.getValue();
             if (localDate == null) {
-                messageListView.getItems().add("Please enter a valid date! ");
+                addMessageToListView("Please enter a valid date! ");
                 return false;
             }
             Date date = new Date(localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth());
             if (!date.isValid()) {
-                messageListView.getItems().add(date.getLastMessage());
+                addMessageToListView(date.getLastMessage());
                 return false;
             }
             if(OC_First_Name.getText().isEmpty() || OC_Last_Name.getText().isEmpty()){
-                messageListView.getItems().add("Please enter a name! ");
+                addMessageToListView("Please enter a name! ");
                 return false;
             }
             if(InitDeposit.getText().isEmpty()){
@@ -177,7 +214,7 @@ public class TransactionManagerController implements Initializable{
             double balance;
             try{ balance = parseInitialDeposit(InitDeposit.getText());
                 if (balance <= 0) {
-                    messageListView.getItems().add("Initial deposit must be greater than zero!");
+                    addMessageToListView("Initial deposit must be greater than zero!");
                     return false;
                 }
             }catch(NumberFormatException e){ addMessageToListView("Enter a valid number");
@@ -196,6 +233,9 @@ public class TransactionManagerController implements Initializable{
                     break;
                 default: addMessageToListView("Please select an account type!"); return false;
             }
+        } catch (UncheckedIOException e) {
+            addMessageToListView(e.getMessage());
+            return false;
         } catch (Exception e) {
             showAlert("Error", e.getMessage());
             return false;
@@ -227,7 +267,7 @@ public class TransactionManagerController implements Initializable{
             return; // Exit since either no code was selected or it was invalid.
         }
         if (!date.checkCollegeCheckingValidity()) {
-            messageListView.getItems().add(date.getLastMessage());
+            addMessageToListView(date.getLastMessage());
             return;
         }
         try {
@@ -265,7 +305,7 @@ public class TransactionManagerController implements Initializable{
      */
     private void openMoneyMarketAccount(Profile profile, double balance) {
         if(balance < 2000) {
-            messageListView.getItems().add("Balance cannot be below 2000!");
+            addMessageToListView("Balance cannot be below 2000!");
             return;
         }
         try {
@@ -284,9 +324,9 @@ public class TransactionManagerController implements Initializable{
      */
     private void handleAccountOpeningResult(boolean added) {
         if (!added && database.getLastMessage().equals("AE")) {
-            messageListView.getItems().add("Account already exists!");
+            addMessageToListView("Account already exists!");
         } else {
-            messageListView.getItems().add("Account opened successfully!");
+            addMessageToListView("Account opened successfully!");
         }
     }
 
@@ -309,7 +349,7 @@ public class TransactionManagerController implements Initializable{
     private Integer validateAndGetCampusCode() {
         String campusCode = getSelectedCampusCode();
         if (campusCode == null) {
-            messageListView.getItems().add("No campus code selected! Please select a valid code! ");
+            addMessageToListView("No campus code selected! Please select a valid code! ");
             return null;
         }
 
@@ -332,7 +372,18 @@ public class TransactionManagerController implements Initializable{
     private Profile makeProfile(Date date) {
         String firstName = OC_First_Name.getText();
         String lastName = OC_Last_Name.getText();
-        return new Profile(firstName, lastName, date);
+        return database.profiles().profile(firstName, lastName, date);
+    }
+
+    /**
+     * Looks up the profile of the names from the open/close input fields without adding it to the profile pool,
+     * for closing an account.
+     *
+     * @param date The date of birth.
+     * @return The pooled profile if the holder has one, otherwise an equal unpooled profile.
+     */
+    private Profile findProfile(Date date) {
+        return database.profiles().find(OC_First_Name.getText(), OC_Last_Name.getText(), date);
     }
 
 
@@ -351,13 +402,12 @@ public class TransactionManagerController implements Initializable{
     }
 
     /**
-     * Adds a message to the end of the message list view and auto-scrolls to the latest message.
+     * Adds a message to the end of the message list view; it is shown, and the view scrolled to it, on the next pulse.
      *
      * @param message The message to be added to the messageListView.
      */
     private void addMessageToListView(String message) {
-        messageListView.getItems().add(message);
-        messageListView.scrollTo(messageListView.getItems().size() - 1);
+        messageLog.post(message);
     }
 
 
@@ -422,10 +472,10 @@ public class TransactionManagerController implements Initializable{
             }
             Date date = new Date(localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth());
             if (!date.isValid()) {
-                messageListView.getItems().add(date.getLastMessage());
+                addMessageToListView(date.getLastMessage());
                   return;
             }
-            Profile profile = makeProfile(date);
+            Profile profile = findProfile(date);
             Account accountToClose = database.getAccountByProfileAndType(profile, type);
             if(accountToClose == null){
                 addMessageToListView("Account does not Exist!");
@@ -436,6 +486,8 @@ public class TransactionManagerController implements Initializable{
                     addMessageToListView("Account Closed Successfully!");
                 }
             }
+        }catch(UncheckedIOException e){
+            addMessageToListView(e.getMessage());
         }catch(Exception e){
             addMessageToListView("Fatal error occurred! Account cannot be removed");
         }
@@ -464,6 +516,7 @@ public class TransactionManagerController implements Initializable{
 
     /**
      * Creates a new profile for deposit/withdrawal operations using the provided date and the names from input fields.
+     * The profile is only looked up in the profile pool, not added to it.
      *
      * @param date The date to be used for the profile creation, typically the user's date of birth.
      * @return A Profile instance with the user's first name, last name, and date of birth for deposit/withdrawal operations.
@@ -471,7 +524,7 @@ public class TransactionManagerController implements Initializable{
     private Profile makeProfileDW(Date date) {
         String firstName = DW_First_Name.getText();
         String lastName = DW_Last_Name.getText();
-        return new Profile(firstName, lastName, date);
+        return database.profiles().find(firstName, lastName, date);
     }
 
     /**
@@ -480,7 +533,7 @@ public class TransactionManagerController implements Initializable{
      * @param actionEvent The event that triggered the method call, typically a button press to clear the screen.
      */
     public void ClearScreen(ActionEvent actionEvent) {
-        messageListView.getItems().clear();
+        messageLog.clear();
     }
 
 
@@ -625,15 +678,16 @@ public class TransactionManagerController implements Initializable{
             return false;
         }
         Profile profile = makeProfileDW(date);
-        Account accountToDeposit = database.getAccountByProfileAndType(profile, type);
-        if(accountToDeposit == null){
-            addMessageWithdrawView("Account does not exist!");
+        try {
+            if(!database.deposit(profile, type, balance)){
+                addMessageWithdrawView("Account does not exist!");
+                return false;
+            }
+        } catch (UncheckedIOException e) {
+            addMessageWithdrawView(e.getMessage());
             return false;
         }
-        else {
-            accountToDeposit.deposit(balance);
-            addMessageWithdrawView("Deposit successful");
-        }
+        addMessageWithdrawView("Deposit successful");
         return true;
     }
 
@@ -669,28 +723,29 @@ public class TransactionManagerController implements Initializable{
             return false;
         }
         Profile profile = makeProfileDW(date);
-        Account accountToWithdraw = database.getAccountByProfileAndType(profile, type);
-        if(accountToWithdraw == null){
-            addMessageWithdrawView("Account does not exist!");
+        String returned;
+        try {
+            returned = database.withdraw(profile, type, balance);
+        } catch (UncheckedIOException e) {
+            addMessageWithdrawView(e.getMessage());
             return false;
         }
-        else {
-            accountToWithdraw.withdraw(balance);
-            String returned = accountToWithdraw.getHelperMessage();
-            addMessageWithdrawView(returned);
+        if(returned == null){
+            addMessageWithdrawView("Account does not exist!");
+            return false;
         }
+        addMessageWithdrawView(returned);
         return true;
     }
 
 
     /**
-     * Adds a message to the withdrawView ListView and scrolls to the last inserted item.
+     * Adds a message to the withdrawView ListView; it is shown, and the view scrolled to it, on the next pulse.
      *
      * @param message The message to be added to the ListView.
      */
     private void addMessageWithdrawView(String message) {
-        withdrawView.getItems().add(message);
-        withdrawView.scrollTo(withdrawView.getItems().size() - 1);
+        withdrawLog.post(message);
     }
 
     /**
@@ -705,25 +760,55 @@ public class TransactionManagerController implements Initializable{
     @FXML
     private ListView<String> accountsListView;
 
+    /** Lazily rendered list of all accounts, shown in the accountsListView by Print Accounts. */
+    private AccountListAdapter accountList;
+
     /**
-     * Handles the action to print all accounts. It sorts the accounts in the database,
-     * clears the accountsListView, and repopulates it with the sorted accounts.
+     * Handles the action to print all accounts. A copy of the accounts in sorted order is taken in the
+     * background, then the accountsListView is pointed at a list backed by it, which renders only the rows on screen.
      *
      * @param event The action event that occurred.
      */
     @FXML
     private void handlePrintAccountsAction(ActionEvent event) {
-        database.Sort();
-        Account[] allAccounts = database.getAllAccounts();
-        accountsListView.getItems().clear();
-        if(allAccounts == null || allAccounts.length == 0){
-            accountsListView.getItems().add("Account Database is Empty! ");
+        Task<Account[]> task = new Task<Account[]>() {
+            @Override
+            protected Account[] call() {
+                return database.sortedCopies();
+            }
+        };
+        runInBackground(task);
+        task.setOnSucceeded(e -> showAccounts(task.getValue()));
+    }
+
+    /**
+     * Shows accounts in the accountsListView, from the top unless it was already showing accounts,
+     * or a notice if there are none.
+     *
+     * @param accounts copies of the accounts in sorted order, from {@link AccountDatabase#sortedCopies()}.
+     */
+    private void showAccounts(Account[] accounts) {
+        if(accountList == null){
+            accountList = new AccountListAdapter();
+        }
+        accountList.show(accounts);
+        if(accountList.isEmpty()){
+            addMessageAccountsView("Account Database is Empty! ");
             return;
         }
-        for (Account account : allAccounts) {
-            if(account != null) {
-                accountsListView.getItems().add(account.toString());
-            }
+        if(accountsListView.getItems() != accountList){
+            accountsListView.setItems(accountList);
+            accountsListView.scrollTo(0);
+        }
+    }
+
+    /**
+     * Points the accountsListView back at its message log if it is showing accounts or fees.
+     */
+    private void showAccountLog() {
+        if(accountsListView.getItems() != accountLog){
+            accountsListView.setItems(accountLog);
+            accountsListView.scrollTo(accountLog.size() - 1);
         }
     }
 
@@ -752,44 +837,164 @@ public class TransactionManagerController implements Initializable{
     private Button Print_Fees;
 
     /**
-     * Applies interest to all accounts by calling the updateBalances method in the database.
+     * Applies interest to all accounts in the background by calling the parallel updateBalances method
+     * in the database. If the accounts are on screen, a new copy of them is taken in the same task and
+     * shown with the new balances.
      */
     @FXML
     private void applyInterest(){
-        database.updateBalances();
+        boolean showingAccounts = accountList != null && accountsListView.getItems() == accountList;
+        Task<Account[]> task = new Task<Account[]>() {
+            @Override
+            protected Account[] call() {
+                database.updateBalancesParallel();
+                return showingAccounts ? database.sortedCopies() : null;
+            }
+        };
+        runInBackground(task);
+        task.setOnSucceeded(e -> {
+            if(task.getValue() != null){
+                showAccounts(task.getValue());
+            }
+        });
     }
 
     /**
-     * Handles the action to print all fees. It sorts the accounts in the database,
-     * clears the accountsListView, and repopulates it with the interest information
-     * for each account.
+     * Handles the action to print all fees. The interest information for each account, in sorted order,
+     * is rendered in the background, then shown in the accountsListView in place of its messages.
      *
      * @param event The action event that occurred.
      */
     @FXML
     private void handlePrintFeesAction(ActionEvent event) {
-        database.Sort();
-        accountsListView.getItems().clear();
-        List<String> Infolist = database.getInterestInfo();
-        if(Infolist == null || Infolist.isEmpty()){
-            accountsListView.getItems().add("Account Database is Empty! ");
-            return;
+        Task<List<String>> task = new Task<List<String>>() {
+            @Override
+            protected List<String> call() {
+                return database.getInterestInfo();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            List<String> Infolist = task.getValue();
+            if(Infolist == null || Infolist.isEmpty()){
+                addMessageAccountsView("Account Database is Empty! ");
+                return;
+            }
+            accountsListView.setItems(FXCollections.observableList(Infolist));
+        });
+        runInBackground(task);
+    }
+
+    /** Runs the long database operations off the FX thread, one at a time and in the order they were asked for. */
+    private final ExecutorService background = Executors.newSingleThreadExecutor(work -> {
+        Thread worker = new Thread(work, "database-worker");
+        worker.setDaemon(true);
+        return worker;
+    });
+
+    /**
+     * Shows the messages posted to the logs since the last pulse, once per pulse. It runs only while
+     * messages are waiting: a log wakes it when a message arrives, and it stops once every log is drained.
+     */
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            flushLogs();
+            pulsing.set(false);
+            if (messageLog.hasPending() || withdrawLog.hasPending() || accountLog.hasPending()) {
+                pulsing.set(true);
+            }
+            else {
+                stop();
+            }
+        }
+    };
+
+    /** Set while the pulse is running or about to be started. */
+    private final AtomicBoolean pulsing = new AtomicBoolean();
+
+    /**
+     * Starts the pulse on the JavaFX application thread unless it is already running or about to start.
+     * Called by the logs, from any thread, when a message arrives with none waiting.
+     */
+    private void wakePulse() {
+        if (pulsing.compareAndSet(false, true)) {
+            Platform.runLater(pulse::start);
         }
-        for (String interestInfo: Infolist) {
-            if(interestInfo != null) {
-                accountsListView.getItems().add(interestInfo);
+    }
+
+    /** Number of background operations queued or running. */
+    private int running;
+
+    /**
+     * Queues a long operation on the background worker. Print Accounts, Print Fees, Apply Interest, Open,
+     * Close, Deposit and Withdraw are disabled until it finishes, so no change is made while it runs, and so
+     * is Load File unless it is cancelling an import. Messages the
+     * operation has published are shown before its own success or failure handler runs.
+     *
+     * @param task The operation to run.
+     */
+    private void runInBackground(Task<?> task) {
+        running++;
+        updateButtons();
+        task.stateProperty().addListener((observable, previous, state) -> {
+            if (state == Worker.State.SUCCEEDED || state == Worker.State.FAILED || state == Worker.State.CANCELLED) {
+                flushLogs();
+                running--;
+                updateButtons();
             }
+        });
+        task.setOnFailed(e -> addMessageAccountsView("Error: " + task.getException().getMessage()));
+        background.execute(task);
+    }
+
+    /**
+     * Shows the messages posted to each log since its last flush, as one change per log, and scrolls each
+     * view that received messages to its last one.
+     */
+    private void flushLogs() {
+        if (messageLog.flush()) {
+            messageListView.scrollTo(messageLog.size() - 1);
+        }
+        if (withdrawLog.flush()) {
+            withdrawView.scrollTo(withdrawLog.size() - 1);
         }
+        if (accountLog.flush() && accountsListView.getItems() == accountLog) {
+            accountsListView.scrollTo(accountLog.size() - 1);
+        }
+    }
+
+    /**
+     * Enables the buttons that start background operations or change the database only when no
+     * background operation is queued or running.
+     */
+    private void updateButtons() {
+        boolean busy = running > 0;
+        Print_Account.setDisable(busy);
+        Print_Fees.setDisable(busy);
+        Apply_Interest.setDisable(busy);
+        Open.setDisable(busy);
+        Close.setDisable(busy);
+        Deposit.setDisable(busy);
+        Withdraw.setDisable(busy);
+        Load_File.setDisable(busy && importCancel == null);
     }
 
+    /** Set to ask the running import to stop, or null if no import is running. */
+    private AtomicBoolean importCancel;
+
     /**
      * Handles the action to load accounts from a file. It opens a FileChooser to let the user
      * select a file and then loads the account data from that file into the database.
+     * While an import is running, the same button cancels it.
      *
      * @param event The action event that occurred.
      */
     @FXML
     private void onLoadFileClick(ActionEvent event) {
+        if (importCancel != null) {
+            importCancel.set(true);
+            return;
+        }
         FileChooser fileChooser = new FileChooser();
         fileChooser.setInitialDirectory(new File(System.getProperty("user.dir")));
         fileChooser.setTitle("Open Account Data File");
@@ -804,116 +1009,81 @@ public class TransactionManagerController implements Initializable{
     }
 
     /**
-     * Adds a message to the accountsListView and scrolls to the last inserted item.
+     * Adds a message to the accountsListView, switching it back to its messages; the message is shown,
+     * and the view scrolled to it, on the next pulse.
      *
      * @param message The message to be added to the ListView.
      */
     private void addMessageAccountsView(String message) {
-        accountsListView.getItems().add(message);
-        accountsListView.scrollTo(accountsListView.getItems().size() - 1);
+        showAccountLog();
+        accountLog.post(message);
     }
 
     /**
-     * Loads accounts from the given file. It reads the file line by line, parses each line to create
-     * an account object, and adds the account to the database.
+     * Loads accounts from the given file on the background worker, so the window stays responsive.
+     * The file is streamed through {@link AccountFileParser}, which opens every valid account in the
+     * database and reports the lines it rejects, parsing on every core when there is more than one.
+     * Only the last rejected lines are kept, shown once per pulse, and a count of each message follows
+     * at the end. A single line of the accountsListView shows the progress, and the Load button cancels the import until it finishes. A cancelled import keeps
+     * the accounts of every line read before it stopped.
      *
      * @param file The file from which to load the account data.
      */
     private void loadAccountsFromFile(File file) {
-        try {
-            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
-            for (String line : lines) {
-                Account account = parseAccountLine(line);
-                if (account != null) {
-                    database.open(account);
+        AtomicBoolean cancel = new AtomicBoolean();
+        Task<ImportProgress> task = new Task<ImportProgress>() {
+            @Override
+            protected ImportProgress call() throws IOException {
+                Consumer<String> rejected = accountLog::post;
+                Consumer<ImportProgress> progress = done -> updateMessage("Importing " + file.getName() + ": " + done);
+                int cores = Runtime.getRuntime().availableProcessors();
+                if (cores > 1) {
+                    return AccountFileParser.loadParallel(file.toPath(), database, rejected, progress, cancel::get, cores);
                 }
+                return AccountFileParser.load(file.toPath(), database, rejected, progress, cancel::get);
             }
-            addMessageAccountsView("Accounts loaded successfully!");
-        } catch (IOException e) {
-            addMessageAccountsView("Error reading file: " + e.getMessage());
-        }
+        };
+        showAccountLog();
+        long progressRow = accountLog.post("Importing " + file.getName() + "...");
+        accountLog.resetCounts();
+        task.messageProperty().addListener((observable, previous, text) -> accountLog.update(progressRow, text));
+        importCancel = cancel;
+        Load_File.setText("Cancel Import");
+        runInBackground(task);
+        task.setOnSucceeded(e -> {
+            ImportProgress done = task.getValue();
+            summarizeImport();
+            addMessageAccountsView(done.isCancelled() ? done.toString() : "Accounts loaded successfully! " + done);
+            finishImport();
+        });
+        task.setOnFailed(e -> {
+            summarizeImport();
+            addMessageAccountsView("Error reading file: " + task.getException().getMessage());
+            finishImport();
+        });
     }
 
     /**
-     * Parses a line from the accounts data file and creates an account object.
-     * It adds error messages to the accountsListView if the line cannot be parsed.
-     *
-     * @param line The line to parse.
-     * @return The Account created from the line, or {@code null} if the line could not be parsed into an account.
-     */
-    private Account parseAccountLine(String line) {
-        String[] tokens = line.split(",");
-        if (tokens.length < 5) {
-//            addMessageAccountsView("-" + line);
-            addMessageAccountsView("Incomplete information to add the account");
-            return null;
-        }
-
-        String accountType = tokens[0];
-        String firstName = tokens[1];
-        String lastName = tokens[2];
-        Date dob = Date.makeDate(tokens[3]);
-        if (dob == null) {
-            addMessageAccountsView("Date of birth is not a valid! ");
-            return null;
-        }
-        if (!dob.isValid()) {
-            return null;
-        }
-
-        double accountBalance;
-        try {
-            accountBalance = Double.parseDouble(tokens[4]);
-        }catch(NumberFormatException e){
-            addMessageAccountsView("Invalid number! Please enter a valid number!");
-            return null;
-        }
-        Profile profile = new Profile(firstName, lastName, dob);
-        Account newAccount;
-
-        switch (accountType) {
-            case "C":
-                newAccount = new Checking(profile, accountBalance);
-                if (database.contains(newAccount)) {
-                    addMessageAccountsView("Account already exists!");
-                }
-                break;
-            case "CC":
-                if (tokens.length < 6) {
-                    addMessageAccountsView("Not enough data to open an account! ");
-                }
-                int campus;
-                try {
-                    campus = Integer.parseInt(tokens[5]);
-                } catch (NumberFormatException e) {
-                    addMessageAccountsView("Not a valid campus code, it must be an integer");
-                    return null;
-                }
-                if (campus < 0 || campus > 2) {
-                    addMessageAccountsView("Not a valid campus code, must be between 0 and 2");
-                }
-                newAccount = new CollegeChecking(profile, accountBalance, campus);
-                if (database.contains(newAccount)) {
-                    addMessageAccountsView("Account already exists!");
-                }
-                break;
-            case "S":
-                if (tokens.length < 6) {
-                    addMessageAccountsView("Not enough data to open an account!");
-                }
-                boolean isLoyal = tokens[5].equals("1");
-                newAccount = new Savings(profile, accountBalance, isLoyal);
-                break;
-            case "MM":
-                newAccount = new MoneyMarket(profile, accountBalance);  // Loyal customer status by default
-                break;
-            default:
-                addMessageAccountsView("Account cannot be created! Wrong Account type");
-                return null;
+     * Adds to the accountsListView how many times each message was reported during the import, as the
+     * lines of a large import are mostly pushed out of the log by the end of it.
+     */
+    private void summarizeImport() {
+        List<String> summary = accountLog.summary();
+        if (!summary.isEmpty()) {
+            addMessageAccountsView("Messages during the import:");
+            for (String line : summary) {
+                addMessageAccountsView(line);
+            }
         }
+    }
 
-        return newAccount;
-
+    /**
+     * Puts the Load button back once an import has finished or stopped.
+     */
+    private void finishImport() {
+        importCancel = null;
+        Load_File.setText("Load Account from File");
+        updateButtons();
     }
 
 
@@ -941,7 +1111,64 @@ public class TransactionManagerController implements Initializable{
 
         Load_File.setOnAction(this::onLoadFileClick);
 
+        messageListView.setItems(messageLog);
+        withdrawView.setItems(withdrawLog);
+        accountsListView.setItems(accountLog);
+
+        openJournal();
+    }
 
+    /**
+     * Rebuilds the database from the journal left by earlier runs on the background worker, then attaches
+     * the journal so that every later change is recorded in it. The buttons that change or read the
+     * database stay disabled until the replay finishes. If the journal cannot be read or opened, the
+     * application keeps running without one.
+     */
+    private void openJournal() {
+        Path path = Paths.get(System.getProperty("user.dir"), JOURNAL_FILE);
+        Task<Integer> task = new Task<Integer>() {
+            @Override
+            protected Integer call() throws IOException {
+                int replayed = TransactionJournal.replay(path, database);
+                database.setJournal(new TransactionJournal(path));
+                return replayed;
+            }
+        };
+        addMessageToListView("Recovering accounts from the transaction journal...");
+        runInBackground(task);
+        task.setOnSucceeded(e -> addMessageToListView("Recovered " + task.getValue() + " changes from the transaction journal."));
+        task.setOnFailed(e -> showAlert("Error", "Could not open the transaction journal: " + task.getException().getMessage()));
+    }
+
+    /**
+     * Stops the application: waits for the background operation in progress, if any, then compacts the
+     * journal with a checkpoint and closes it, so the last group of changes is flushed before the JVM exits.
+     * Called from {@link TransactionManagerMain#stop()}; the window is gone by then, so errors go to stderr.
+     */
+    public void shutdown() {
+        pulse.stop();
+        background.shutdown();
+        try {
+            if (!background.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("A background operation is still running; it may not be journaled.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        TransactionJournal journal = database.getJournal();
+        if (journal == null) {
+            return;
+        }
+        try {
+            database.checkpoint();
+        } catch (IOException e) {
+            System.err.println("Could not checkpoint the transaction journal: " + e.getMessage());
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the transaction journal: " + e.getMessage());
+        }
     }
 
 }
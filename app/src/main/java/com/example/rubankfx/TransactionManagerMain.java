@@ -6,6 +6,9 @@ import javafx.stage.Stage;
 import java.io.IOException;
 
 public class TransactionManagerMain extends Application {
+    /** Controller of the main view, shut down when the application stops. */
+    private TransactionManagerController controller;
+
     @Override
     public void start(Stage stage) throws IOException {
         stage.setWidth(637);
@@ -14,10 +17,21 @@ public class TransactionManagerMain extends Application {
         stage.setTitle("Transaction Manager");
         FXMLLoader fxmlLoader = new FXMLLoader(TransactionManagerMain.class.getResource("TransactionManagerView.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 1280, 720); // Match the scene size with the stage size
+        controller = fxmlLoader.getController();
         stage.setScene(scene);
         stage.show();
     }
 
+    /**
+     * Flushes and closes the transaction journal before the JVM exits.
+     */
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     public static void main(String[] args) {
         launch();
     }
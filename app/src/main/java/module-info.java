@@ -1,4 +1,5 @@
 module com.example.rubankfx {
+    requires com.example.rubankfx.core;
     requires javafx.controls;
     requires javafx.fxml;
 
@@ -6,4 +7,4 @@ module com.example.rubankfx {
 
     opens com.example.rubankfx to javafx.fxml;
     exports com.example.rubankfx;
-}
\ No newline at end of file
+}
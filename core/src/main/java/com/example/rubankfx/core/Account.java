@@ -1,6 +1,4 @@
-package com.example.rubankfx;
-
-import java.text.DecimalFormat;
+package com.example.rubankfx.core;
 
 /**
  * Represents an abstract account with basic functionalities.
@@ -13,8 +11,14 @@ public abstract class Account implements Comparable<Account> {
     /** The profile associated with this account. */
     protected Profile holder;
 
-    /** The current balance of this account. */
-    protected double balance;
+    /** The balance of this account in cents, while it is not stored in a database. */
+    private long balance;
+
+    /** Columnar store holding this account's row while it is in a database, or {@code null} otherwise. */
+    AccountColumns columns;
+
+    /** Row of this account in {@link #columns}. */
+    int row;
 
     /**
      * Constructs a new account with the specified profile and balance.
@@ -24,10 +28,75 @@ public abstract class Account implements Comparable<Account> {
      */
     public Account(Profile holder, double balance) {
         this.holder = holder;
-        this.balance = balance;
+        this.balance = Money.toCents(balance);
     }
     public abstract String toString();
 
+    /**
+     * Appends the account in its {@link #toString} format to a caller-provided builder, without creating
+     * any intermediate Strings.
+     *
+     * @param sb The builder to append to.
+     * @return The same builder.
+     */
+    public abstract StringBuilder appendTo(StringBuilder sb);
+
+    /**
+     * Appends the account followed by its monthly fee and interest, as listed by
+     * {@link AccountDatabase#getInterestInfo()}: "account::fee $fee::monthly interest $interest".
+     * The fee is computed before the interest, as a Money Market fee can end its loyalty.
+     *
+     * @param sb The builder to append to.
+     * @return The same builder.
+     */
+    public StringBuilder appendInterestInfo(StringBuilder sb) {
+        appendTo(sb).append("::fee $");
+        Money.appendDollars(sb, Money.toCents(monthlyFee())).append("::monthly interest $");
+        return Money.appendDollars(sb, Money.toCents(monthlyInterest()));
+    }
+
+    /**
+     * Appends "::Balance $" and the balance in the form {@code getbalance()} prints in.
+     *
+     * @param sb The builder to append to.
+     * @return The same builder.
+     */
+    protected StringBuilder appendBalance(StringBuilder sb) {
+        return Money.appendDollars(sb.append("::Balance $"), balance());
+    }
+
+    /**
+     * Reads the balance in cents, from the columnar store if the account is in a database.
+     *
+     * @return The current balance in cents.
+     */
+    protected long balance() {
+        return columns == null ? balance : columns.balance[row];
+    }
+
+    /**
+     * Writes the balance in cents, into the columnar store if the account is in a database.
+     *
+     * @param value The new balance in cents.
+     */
+    protected void setBalance(long value) {
+        if(columns == null){
+            balance = value;
+        }
+        else{
+            columns.balance[row] = value;
+        }
+    }
+
+    /**
+     * Copies the state held in the columnar store back into this account, so it stays usable
+     * once it has been removed from the database. Subclasses with their own columns extend this.
+     */
+    void detach() {
+        balance = balance();
+        columns = null;
+    }
+
     /**
      * Calculates the monthly interest for this account.
      *
@@ -75,7 +144,7 @@ public abstract class Account implements Comparable<Account> {
      * @param amount The amount to deposit.
      */
     public void deposit(double amount){
-        balance += amount;
+        setBalance(balance() + Money.toCents(amount));
     }
 
     /**
@@ -85,8 +154,9 @@ public abstract class Account implements Comparable<Account> {
      * @param amount the amount to be withdrawn from the account.
      */
     public void withdraw(double amount) {
-        if(this.balance - amount >= 0){
-            balance -= amount;
+        long cents = Money.toCents(amount);
+        if(this.balance() - cents >= 0){
+            setBalance(balance() - cents);
             this.helperMessage = "Withdrawal Successful! ";
             return;
         }
@@ -123,9 +193,7 @@ public abstract class Account implements Comparable<Account> {
      * @return The current balance.
      */
     public double getbalance(){
-        DecimalFormat df = new DecimalFormat("#.00");
-        String formattedResult = df.format(balance);
-        return Double.parseDouble(formattedResult);
+        return Money.toDollars(balance());
     }
 
     /**
@@ -169,7 +237,7 @@ public abstract class Account implements Comparable<Account> {
      * This should be called to reflect the monthly changes in the balance.
      */
     public void updateBalance(){
-        this.balance -= this.monthlyFee() + this.monthlyInterest();
+        setBalance(balance() - (Money.toCents(this.monthlyFee()) + Money.toCents(this.monthlyInterest())));
     }
 
     /**
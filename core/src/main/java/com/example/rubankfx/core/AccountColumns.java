@@ -0,0 +1,291 @@
+package com.example.rubankfx.core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Columnar backing store for the accounts of an {@link AccountDatabase}.
+ * The mutable state of every account is kept in parallel primitive arrays, one row per account,
+ * and each {@link Account} in the database reads and writes its row instead of its own fields.
+ * Month-end processing scans these arrays directly, without calling into the account objects.
+ * Row {@code i} always belongs to the account stored at index {@code i} of the database array.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+final class AccountColumns {
+
+    /** Type code for Checking accounts. */
+    static final byte CHECKING = 0;
+
+    /** Type code for College Checking accounts. */
+    static final byte COLLEGE_CHECKING = 1;
+
+    /** Type code for Money Market accounts. */
+    static final byte MONEY_MARKET = 2;
+
+    /** Type code for Savings accounts. */
+    static final byte SAVINGS = 3;
+
+    /** Balance of each row, in cents. */
+    long[] balance;
+
+    /** Type code of each row. */
+    byte[] type;
+
+    /** Loyalty status of each row; only meaningful for Savings and Money Market rows. */
+    boolean[] loyal;
+
+    /** Withdrawal count of each row; only meaningful for Money Market rows. */
+    int[] withdrawals;
+
+    /** Number of rows in use. */
+    private int size;
+
+    /** Number of rows below which a parallel month-end partition is processed directly. */
+    private static final int PARALLEL_GRAIN = 1 << 14;
+
+    /**
+     * Creates a store with room for the given number of rows.
+     *
+     * @param capacity the initial number of rows.
+     */
+    AccountColumns(int capacity) {
+        balance = new long[capacity];
+        type = new byte[capacity];
+        loyal = new boolean[capacity];
+        withdrawals = new int[capacity];
+    }
+
+    /**
+     * Maps an account type to its type code.
+     *
+     * @param type the account type ("C", "CC", "MM" or "S").
+     * @return the type code.
+     */
+    static byte typeCode(String type) {
+        switch (type) {
+            case "C":
+                return CHECKING;
+            case "CC":
+                return COLLEGE_CHECKING;
+            case "MM":
+                return MONEY_MARKET;
+            case "S":
+                return SAVINGS;
+            default:
+                throw new IllegalArgumentException("Unknown account type: " + type);
+        }
+    }
+
+    /**
+     * Returns the number of rows in use.
+     *
+     * @return the number of rows.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Resizes every column to the given capacity.
+     *
+     * @param capacity the new number of rows; must not be less than the rows in use.
+     */
+    void resize(int capacity) {
+        balance = Arrays.copyOf(balance, capacity);
+        type = Arrays.copyOf(type, capacity);
+        loyal = Arrays.copyOf(loyal, capacity);
+        withdrawals = Arrays.copyOf(withdrawals, capacity);
+    }
+
+    /**
+     * Appends a row holding the state of the given account, and turns the account into a view of that row.
+     *
+     * @param account the account to store; it must not belong to another store.
+     */
+    void add(Account account) {
+        if (size == balance.length) {
+            resize(size + (size >> 1) + 1);
+        }
+        int row = size++;
+        balance[row] = account.balance();
+        type[row] = typeCode(account.GetType());
+        loyal[row] = account instanceof Savings && ((Savings) account).isLoyal();
+        withdrawals[row] = account instanceof MoneyMarket ? ((MoneyMarket) account).withdrawals() : 0;
+        account.columns = this;
+        account.row = row;
+    }
+
+    /**
+     * Removes the row of the given account by moving the last row into its place.
+     * The account gets its state back and no longer reads from this store.
+     *
+     * @param account the account to remove.
+     * @param moved   the account owning the last row, which is moved into the freed row.
+     */
+    void remove(Account account, Account moved) {
+        int row = account.row;
+        int last = --size;
+        account.detach();
+        if (row != last) {
+            balance[row] = balance[last];
+            type[row] = type[last];
+            loyal[row] = loyal[last];
+            withdrawals[row] = withdrawals[last];
+            moved.row = row;
+        }
+    }
+
+    /**
+     * Exchanges the rows of two accounts of this store.
+     *
+     * @param x an account.
+     * @param y another account, or {@code x} itself.
+     */
+    void swap(Account x, Account y) {
+        int a = x.row;
+        int b = y.row;
+        long balanceA = balance[a];
+        balance[a] = balance[b];
+        balance[b] = balanceA;
+        byte typeA = type[a];
+        type[a] = type[b];
+        type[b] = typeA;
+        boolean loyalA = loyal[a];
+        loyal[a] = loyal[b];
+        loyal[b] = loyalA;
+        int withdrawalsA = withdrawals[a];
+        withdrawals[a] = withdrawals[b];
+        withdrawals[b] = withdrawalsA;
+        x.row = b;
+        y.row = a;
+    }
+
+    /**
+     * Rearranges the rows to follow the order of the given accounts.
+     *
+     * @param order the accounts of this store in their new order.
+     * @param count the number of accounts in {@code order}.
+     */
+    void reorder(Account[] order, int count) {
+        long[] newBalance = new long[balance.length];
+        byte[] newType = new byte[type.length];
+        boolean[] newLoyal = new boolean[loyal.length];
+        int[] newWithdrawals = new int[withdrawals.length];
+        for (int i = 0; i < count; i++) {
+            int row = order[i].row;
+            newBalance[i] = balance[row];
+            newType[i] = type[row];
+            newLoyal[i] = loyal[row];
+            newWithdrawals[i] = withdrawals[row];
+            order[i].row = i;
+        }
+        balance = newBalance;
+        type = newType;
+        loyal = newLoyal;
+        withdrawals = newWithdrawals;
+    }
+
+    /**
+     * Applies the monthly fee and interest to every row, with the same results as calling
+     * {@link Account#updateBalance()} on each account.
+     *
+     * @return the totals of the pass.
+     */
+    MonthEndTotals updateBalances() {
+        return updateBalances(0, size);
+    }
+
+    /**
+     * Applies the monthly fee and interest to every row, splitting the rows across the given pool.
+     * Rows are independent, so the balances are the same as with {@link #updateBalances()}, and
+     * the partition totals are merged left to right so the totals are the same as well.
+     *
+     * @param pool the pool to run the partitions on.
+     * @return the totals of the pass.
+     */
+    MonthEndTotals updateBalancesParallel(ForkJoinPool pool) {
+        return pool.invoke(new MonthEndTask(0, size));
+    }
+
+    /**
+     * Applies the monthly fee and interest to a range of rows.
+     *
+     * @param from the first row.
+     * @param to   the row after the last row.
+     * @return the totals of the range.
+     */
+    private MonthEndTotals updateBalances(int from, int to) {
+        MonthEndTotals totals = new MonthEndTotals();
+        for (int row = from; row < to; row++) {
+            long b = balance[row];
+            long fee;
+            long interest;
+            switch (type[row]) {
+                case CHECKING:
+                    fee = Checking.feeOn(b);
+                    interest = Checking.interestOn(b);
+                    break;
+                case COLLEGE_CHECKING:
+                    fee = CollegeChecking.feeOn(b);
+                    interest = CollegeChecking.interestOn(b);
+                    break;
+                case SAVINGS:
+                    fee = Savings.feeOn(b);
+                    interest = Savings.interestOn(b, loyal[row]);
+                    break;
+                default:
+                    fee = MoneyMarket.feeOn(b, withdrawals[row]);
+                    loyal[row] = MoneyMarket.loyalAfterFee(b, withdrawals[row], loyal[row]);
+                    interest = MoneyMarket.interestOn(b, loyal[row]);
+                    break;
+            }
+            balance[row] = b - (fee + interest);
+            totals.add(fee, interest);
+        }
+        return totals;
+    }
+
+    /**
+     * Fork-join task applying month-end to a range of rows, halving the range until it is small.
+     * It is never serialized; it only inherits {@code Serializable} from {@link java.util.concurrent.ForkJoinTask}.
+     */
+    @SuppressWarnings("serial")
+    private final class MonthEndTask extends RecursiveTask<MonthEndTotals> {
+
+        /** First row of the range. */
+        private final int from;
+
+        /** Row after the last row of the range. */
+        private final int to;
+
+        /**
+         * Creates a task for a range of rows.
+         *
+         * @param from the first row.
+         * @param to   the row after the last row.
+         */
+        MonthEndTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Processes the range directly if it is small, otherwise splits it in two.
+         *
+         * @return the totals of the range.
+         */
+        @Override
+        protected MonthEndTotals compute() {
+            if (to - from <= PARALLEL_GRAIN) {
+                return updateBalances(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            MonthEndTask left = new MonthEndTask(from, mid);
+            left.fork();
+            MonthEndTotals right = new MonthEndTask(mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
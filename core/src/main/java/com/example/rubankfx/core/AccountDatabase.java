@@ -0,0 +1,1453 @@
+package com.example.rubankfx.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Represents a database to manage multiple accounts.
+ * Provides functionalities for opening, closing, depositing into, and withdrawing from accounts.
+ * Also supports sorting and printing account data.
+ * <p>
+ * The database is safe to use from several threads. Opening, closing, sorting and month-end take the
+ * structure lock exclusively; lookups and listings share it. Deposits and withdrawals share the structure
+ * lock and additionally lock one of a fixed set of stripes chosen by the holder's profile, so postings to
+ * different accounts run in parallel while postings to the same account are serialized.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public class AccountDatabase {
+
+    /** Array to store the accounts. */
+    private Account [] accounts;
+
+    /** Columnar store holding the balances and flags of the accounts, row {@code i} for {@code accounts[i]}. */
+    private final AccountColumns columns;
+
+    /** Number of active accounts in the database. */
+    private int numAcct;
+
+    /**
+     * Index in {@code accounts} of the first account of each type, by {@link AccountColumns#typeCode}.
+     * The accounts, and so the rows of {@link #columns}, are kept grouped by type in type-code order;
+     * the accounts of type {@code t} are those from {@code typeStart[t]} up to the start of the next type,
+     * or up to {@code numAcct} for the last type. Month-end then sees one long run per type.
+     */
+    private final int[] typeStart = new int[AccountColumns.SAVINGS + 1];
+
+    /**
+     * Holds the last message generated by operations within the class. This message can contain
+     * information about the success or failure of the last operation performed, such as account
+     * creation, deposit, or withdrawal. It can also provide details on why an operation failed.
+     */
+    private volatile String lastMessage;
+
+    /** Number of stripe locks guarding account balances; a power of two. */
+    private static final int STRIPES = 64;
+
+    /** Guards the array, the index and the partitions. */
+    private final ReentrantReadWriteLock structureLock = new ReentrantReadWriteLock();
+
+    /** Stripe locks guarding the mutable state of individual accounts. */
+    private final Object[] stripes = new Object[STRIPES];
+
+    /** Whether month-end runs on the {@link VectorMonthEnd} engine instead of the scalar pass. */
+    private volatile boolean vectorMonthEnd;
+
+    /**
+     * Whether the {@code jdk.incubator.vector} module was resolved at startup, e.g. with
+     * {@code --add-modules jdk.incubator.vector}. Checked here rather than in {@link VectorMonthEnd},
+     * since loading that class without the module fails.
+     */
+    private static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /** Journal every change is recorded in, or {@code null} if changes are not persisted. */
+    private volatile TransactionJournal journal;
+
+    /** The error that made {@link #journal} fail, or {@code null}; changes are refused while it is set. */
+    private volatile IOException journalFailure;
+
+    /** Guards {@link #journal} and {@link #journalFailure}, so that a failed journal is closed only once. */
+    private final Object journalLock = new Object();
+
+    /** Names and profiles shared by the accounts of this database. */
+    private final ProfilePool profiles = new ProfilePool();
+
+    /** Family slot shared by Checking and College Checking accounts. */
+    private static final int FAMILY_CHECKING = 0;
+
+    /** Family slot for Savings accounts. */
+    private static final int FAMILY_SAVINGS = 1;
+
+    /** Family slot for Money Market accounts. */
+    private static final int FAMILY_MONEY_MARKET = 2;
+
+    /**
+     * Hash index from a profile to the position of the account in {@code accounts},
+     * one map per account family. C and CC share a family, matching {@link Account#typecheck}.
+     */
+    private final Map<Profile, Integer>[] index;
+
+    /**
+     * Accounts partitioned by type, indexed by {@link AccountColumns#typeCode} which follows the order
+     * {@link Account#compareTo} lists types in. Each partition is kept sorted by profile on insert.
+     * Walking the partitions in order yields the accounts sorted by type and profile without re-sorting.
+     */
+    private final TreeMap<Profile, Account>[] partitions;
+
+    /**
+     * Accounts in sorted order as handed out by {@link #sortedView()}, or {@code null} once accounts
+     * have been opened or closed since it was built. Cleared under the write lock.
+     */
+    private volatile Account[] sortedView;
+
+    /** Capacity used by the default constructor. */
+    private static final int DEFAULT_CAPACITY = 4;
+
+    /** Number of characters rendered before a listing hands them to its output. */
+    private static final int PRINT_CHUNK = 1 << 14;
+
+    /**
+     * Default constructor initializing the database with default size.
+     */
+    public AccountDatabase(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes the database with room for the expected number of accounts,
+     * so that a large import does not have to grow the array repeatedly.
+     *
+     * @param initialCapacity the number of accounts expected to be stored.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public AccountDatabase(int initialCapacity){
+        if(initialCapacity < 0){
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        this.accounts = new Account[Math.max(initialCapacity, DEFAULT_CAPACITY)];
+        this.columns = new AccountColumns(accounts.length);
+        this.numAcct = 0;
+        this.index = new Map[FAMILY_MONEY_MARKET + 1];
+        for(int i = 0; i < index.length; i++){
+            index[i] = new HashMap<>(initialCapacity);
+        }
+        this.partitions = new TreeMap[AccountColumns.SAVINGS + 1];
+        for(int i = 0; i < partitions.length; i++){
+            partitions[i] = new TreeMap<>();
+        }
+        for(int i = 0; i < stripes.length; i++){
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Picks the stripe lock guarding the accounts of a profile.
+     * All accounts of one holder share a stripe, since they share a hash.
+     *
+     * @param profile the profile of the account holder.
+     * @return the lock object to synchronize on.
+     */
+    private Object stripeFor(Profile profile) {
+        int h = profile.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Attaches a journal that every later change is recorded in. Each changing call returns only once
+     * its record is on disk. Pass {@code null} to stop journaling, e.g. while replaying.
+     * <p>
+     * A change is applied before its record is forced, so that concurrent changes can share one flush.
+     * If the journal cannot be written, it is closed and the database fails: every call whose record was not
+     * written throws an {@link UncheckedIOException}, and so does every later change, before it is applied,
+     * until a journal is attached again. See {@link #getJournalFailure()}.
+     * <p>
+     * The journal only holds changes made while it is attached. A database loaded from a snapshot, or filled
+     * before the journal was attached, should be written to it with {@link #checkpoint()} first.
+     *
+     * @param journal the journal to record changes in, or {@code null}.
+     */
+    public void setJournal(TransactionJournal journal) {
+        synchronized (journalLock) {
+            this.journal = journal;
+            this.journalFailure = null;
+        }
+    }
+
+    /**
+     * Returns the journal changes are recorded in.
+     *
+     * @return the journal, or {@code null} if none is attached.
+     */
+    public TransactionJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Returns the error that made the attached journal fail, if any. While it is set, every change is refused.
+     *
+     * @return the error, or {@code null} if the journal works or none is attached.
+     */
+    public IOException getJournalFailure() {
+        return journalFailure;
+    }
+
+    /**
+     * Refuses a change while the attached journal has failed, so that no change is applied without being recorded.
+     *
+     * @throws UncheckedIOException if the journal has failed.
+     */
+    private void requireJournal() {
+        IOException failure = journalFailure;
+        if(failure != null){
+            throw new UncheckedIOException("The transaction journal failed; changes are refused until it is reopened", failure);
+        }
+    }
+
+    /**
+     * Replaces the attached journal with one base record per account, see {@link TransactionJournal},
+     * so that the journal stops growing and also covers accounts that were never journaled, e.g. those
+     * loaded from a snapshot. Changes are blocked while the journal is rewritten.
+     *
+     * @throws IOException if the journal cannot be rewritten.
+     */
+    public void checkpoint() throws IOException {
+        structureLock.writeLock().lock();
+        try {
+            TransactionJournal j = journal;
+            if(j == null){
+                return;
+            }
+            Account[] sorted = new Account[numAcct];
+            copySorted(sorted);
+            j.checkpoint(sorted, numAcct);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the pool that profiles for this database should be taken from,
+     * so that a holder's accounts share one profile and one copy of each name.
+     *
+     * @return the profile pool.
+     */
+    public ProfilePool profiles() {
+        return profiles;
+    }
+
+    /**
+     * Waits until a journal record is on disk. Called after the locks are released, so that
+     * concurrent callers can share one flush. If the journal fails, the database fails with it,
+     * see {@link #setJournal}; the first caller to see the failure closes the journal.
+     *
+     * @param seq the sequence number of the record, or 0 if nothing was recorded.
+     * @throws UncheckedIOException if the record could not be written.
+     */
+    private void sync(long seq) {
+        TransactionJournal j = journal;
+        if(seq > 0 && j != null){
+            try {
+                j.await(seq);
+            } catch (IOException e) {
+                boolean first;
+                synchronized (journalLock) {
+                    first = journal == j && journalFailure == null;
+                    if(first){
+                        journalFailure = e;
+                    }
+                }
+                if(first){
+                    try {
+                        j.close();
+                    } catch (IOException closeFailure) {
+                        e.addSuppressed(closeFailure);
+                    }
+                }
+                throw new UncheckedIOException("Could not write the transaction journal", e);
+            }
+        }
+    }
+
+    /**
+     * Maps an account type to its sorted partition.
+     *
+     * @param type the account type code ("C", "CC", "MM" or "S").
+     * @return the partition holding accounts of that type.
+     */
+    private TreeMap<Profile, Account> partitionOf(String type) {
+        return partitions[AccountColumns.typeCode(type)];
+    }
+
+    /**
+     * Maps an account type to its family slot in the index.
+     * Checking and College Checking share a slot since a holder may only have one of them.
+     *
+     * @param type the account type code ("C", "CC", "S" or "MM").
+     * @return the family slot, or -1 if the type is unknown.
+     */
+    private static int family(String type) {
+        switch (type) {
+            case "C":
+            case "CC":
+                return FAMILY_CHECKING;
+            case "S":
+                return FAMILY_SAVINGS;
+            case "MM":
+                return FAMILY_MONEY_MARKET;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Finds the index number of an account.
+     * @param account obj
+     * @return i index of the account found
+     */
+    private int find(Account account) {
+        int family = family(account.GetType());
+        if(family < 0){
+            return -1;
+        }
+        Integer i = index[family].get(account.getProfile());
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * Points the index entry of the account stored at the given position back at that position.
+     *
+     * @param i position of the account in {@code accounts}.
+     */
+    private void reindex(int i) {
+        index[family(accounts[i].GetType())].put(accounts[i].getProfile(), i);
+    }
+
+    /**
+     * Gets an array containing all active accounts currently stored in the database,
+     * sorted by account type and profile. If there are no accounts, it returns {@code null}.
+     *
+     * @return An array of {@code Account} objects representing all active accounts,
+     *         or {@code null} if there are no active accounts.
+     */
+    public Account[] getAllAccounts() {
+        structureLock.readLock().lock();
+        try {
+            if(numAcct == 0){
+                return null;
+            }
+            Account[] sorted = new Account[numAcct];
+            copySorted(sorted);
+            return sorted;
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the accounts into the given array in sorted order by walking the type partitions.
+     *
+     * @param target the array to fill; must hold at least {@code numAcct} accounts.
+     */
+    private void copySorted(Account[] target) {
+        int i = 0;
+        for(TreeMap<Profile, Account> partition : partitions){
+            for(Account account : partition.values()){
+                target[i++] = account;
+            }
+        }
+    }
+
+
+    /**
+     * Will make a new array one and a half times the size of accounts, copy data from old array,
+     * then point the old array to the new array. Growing geometrically keeps opening amortized O(1).
+     */
+    private void grow() {
+        accounts = Arrays.copyOf(accounts, accounts.length + (accounts.length >> 1) + 1);
+        columns.resize(accounts.length);
+    }
+
+    /**
+     * Returns the accounts in sorted order as a shared array, which is only rebuilt after accounts have been
+     * opened or closed. The array must not be modified. The accounts in it are live: their balances and
+     * flags are read when they are rendered, e.g. with {@link #appendAccount}.
+     *
+     * @return the accounts sorted by type and profile; empty if there are none.
+     */
+    public Account[] sortedView() {
+        Account[] view = sortedView;
+        if(view == null){
+            structureLock.readLock().lock();
+            try {
+                view = sortedView;
+                if(view == null){
+                    view = new Account[numAcct];
+                    copySorted(view);
+                    sortedView = view;
+                }
+            } finally {
+                structureLock.readLock().unlock();
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Appends one account in its {@code toString} format, reading its fields under the database's locks
+     * so that a concurrent change or reorder is never seen half done.
+     *
+     * @param account the account, e.g. from {@link #sortedView()}.
+     * @param sb      the builder to append to.
+     * @return the same builder.
+     */
+    public StringBuilder appendAccount(Account account, StringBuilder sb) {
+        structureLock.readLock().lock();
+        try {
+            synchronized (stripeFor(account.getProfile())) {
+                return account.appendTo(sb);
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies every account, in the order of {@link #sortedView()}. The accounts are read under the
+     * database's locks, so the copies hold one consistent state and can be rendered later on any thread
+     * without locking, e.g. by a list view. Later changes to the database do not show in them.
+     *
+     * @return copies of the accounts sorted by type and profile; empty if there are none.
+     */
+    public Account[] sortedCopies() {
+        structureLock.readLock().lock();
+        try {
+            Account[] copies = new Account[numAcct];
+            copySorted(copies);
+            for(int i = 0; i < copies.length; i++){
+                synchronized (stripeFor(copies[i].getProfile())) {
+                    copies[i] = copyOf(copies[i]);
+                }
+            }
+            return copies;
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies an account, sharing its profile. The caller holds the account's stripe lock.
+     *
+     * @param account the account to copy.
+     * @return an account of the same type with the same balance and fields.
+     */
+    private static Account copyOf(Account account) {
+        Account copy;
+        switch (AccountColumns.typeCode(account.GetType())) {
+            case AccountColumns.CHECKING:
+                copy = new Checking(account.getProfile(), 0);
+                break;
+            case AccountColumns.COLLEGE_CHECKING:
+                copy = new CollegeChecking(account.getProfile(), 0, ((CollegeChecking) account).getCampusCode());
+                break;
+            case AccountColumns.SAVINGS:
+                copy = new Savings(account.getProfile(), 0, ((Savings) account).isLoyal());
+                break;
+            default:
+                MoneyMarket mm = new MoneyMarket(account.getProfile(), 0);
+                mm.setLoyal(((MoneyMarket) account).isLoyal());
+                mm.setWithdrawals(((MoneyMarket) account).withdrawals());
+                copy = mm;
+                break;
+        }
+        copy.setBalance(account.balance());
+        return copy;
+    }
+
+    /**
+     * Checks if database contains given account.
+     * @param account obj
+     * @return True if account was found, False otherwise.
+     */
+    public boolean contains(Account account){
+        structureLock.readLock().lock();
+        try {
+            return find(account) != -1;
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Given a valid account, the account will be added to database.
+     * @param account obj
+     * @return true if the account was added successfully, false otherwise.
+     * @throws IllegalArgumentException if a journal is attached and a name is too long to be journaled.
+     */
+    public boolean open(Account account){
+        requireJournal();
+        if(account == null){
+            lastMessage = "AM";
+            return false;
+        }
+        long seq = 0;
+        structureLock.writeLock().lock();
+        try {
+            if(find(account) != -1){
+                lastMessage = "AE";
+                return false;
+            }
+            if(journal != null){
+                TransactionJournal.checkNames(account.getProfile());
+            }
+            append(account);
+            partitionOf(account.GetType()).put(account.getProfile(), account);
+            sortedView = null;
+            if(numAcct >= accounts.length){
+                grow();
+            }
+            TransactionJournal j = journal;
+            if(j != null){
+                seq = j.logOpen(account);
+            }
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+        sync(seq);
+        return true;
+    } //add a new account
+
+    /**
+     * Opens a batch of accounts in order, with the same outcome as calling {@link #open(Account)} on each:
+     * an account is skipped if the database, or an earlier account of the batch, already holds an
+     * account of the same family for the same holder.
+     * <p>
+     * The batch is applied under one lock, and all at once: if it fails part way, the accounts it added
+     * are taken out again before the exception is rethrown, and nothing is journaled. The new accounts of
+     * each type are inserted into that type's partition one by one when they are few. Otherwise they are
+     * sorted and merged with the partition into a new tree, built off to the side and put in place only
+     * once every partition is ready, which is much cheaper than inserting a large batch one at a time.
+     *
+     * @param batch the accounts to open; {@code null} entries are skipped.
+     * @param count the number of entries of {@code batch} to use.
+     * @return for each entry, whether its account was opened.
+     * @throws IllegalArgumentException if a journal is attached and a name is too long to be journaled; nothing is opened.
+     */
+    public boolean[] openAll(Account[] batch, int count){
+        requireJournal();
+        boolean[] opened = new boolean[count];
+        Account[][] added = new Account[partitions.length][];
+        int[] addedCount = new int[partitions.length];
+        long seq = 0;
+        structureLock.writeLock().lock();
+        try {
+            while(accounts.length <= numAcct + count){
+                grow();
+            }
+            TransactionJournal j = journal;
+            if(j != null){
+                for(int i = 0; i < count; i++){
+                    if(batch[i] != null){
+                        TransactionJournal.checkNames(batch[i].getProfile());
+                    }
+                }
+            }
+            for(int i = 0; i < count; i++){
+                Account account = batch[i];
+                if(account == null || find(account) != -1){
+                    continue;
+                }
+                append(account);
+                int type = AccountColumns.typeCode(account.GetType());
+                if(added[type] == null){
+                    added[type] = new Account[Math.min(count, 16)];
+                }
+                else if(addedCount[type] == added[type].length){
+                    added[type] = Arrays.copyOf(added[type], Math.min(count, addedCount[type] * 2));
+                }
+                added[type][addedCount[type]++] = account;
+                opened[i] = true;
+            }
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            TreeMap<Profile, Account>[] merged = new TreeMap[partitions.length];
+            int[] inserted = new int[partitions.length];
+            try {
+                for(int type = 0; type < partitions.length; type++){
+                    Account[] run = added[type];
+                    int length = addedCount[type];
+                    if(length == 0){
+                        continue;
+                    }
+                    if(length < partitions[type].size() / 8){
+                        for(; inserted[type] < length; inserted[type]++){
+                            partitions[type].put(run[inserted[type]].getProfile(), run[inserted[type]]);
+                        }
+                    }
+                    else {
+                        merged[type] = merge(partitions[type], run, length);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                for(int type = 0; type < partitions.length; type++){
+                    for(int k = 0; k < inserted[type]; k++){
+                        partitions[type].remove(added[type][k].getProfile());
+                    }
+                }
+                for(int i = count - 1; i >= 0; i--){
+                    if(opened[i]){
+                        remove(find(batch[i]));
+                        index[family(batch[i].GetType())].remove(batch[i].getProfile());
+                    }
+                }
+                throw e;
+            }
+            for(int type = 0; type < partitions.length; type++){
+                if(merged[type] != null){
+                    partitions[type] = merged[type];
+                }
+            }
+            for(int i = 0; i < count; i++){
+                if(opened[i]){
+                    sortedView = null;
+                    if(j != null){
+                        seq = j.logOpen(batch[i]);
+                    }
+                }
+            }
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+        sync(seq);
+        return opened;
+    }
+
+    /**
+     * Merges new accounts with a type partition into a new tree, leaving the partition as it is.
+     * The new accounts are sorted, merged with the accounts of the partition, and the tree is built
+     * from the merged run in O(N).
+     *
+     * @param partition the partition to merge with.
+     * @param run       the new accounts, none of which is in the partition; they are sorted in place.
+     * @param length    the number of accounts in {@code run}.
+     * @return a new tree holding the accounts of the partition and the new accounts.
+     */
+    private static TreeMap<Profile, Account> merge(TreeMap<Profile, Account> partition, Account[] run, int length) {
+        Arrays.sort(run, 0, length, Comparator.comparing(Account::getProfile));
+        Account[] merged = new Account[partition.size() + length];
+        int m = 0;
+        int r = 0;
+        for(Account existing : partition.values()){
+            while(r < length && run[r].getProfile().compareTo(existing.getProfile()) < 0){
+                merged[m++] = run[r++];
+            }
+            merged[m++] = existing;
+        }
+        while(r < length){
+            merged[m++] = run[r++];
+        }
+        return new TreeMap<>(new SortedRun(merged, 0, m));
+    }
+
+    /**
+     * Retrieves the last message that was set within the context of the class.
+     * This message typically contains information about the last operation performed or an error message.
+     *
+     * @return A {@code String} representing the last message.
+     */
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    /**
+     * closes account
+     * @param account object
+     * @return false if close was unsuccessful, or true if it was successful.
+     */
+    public boolean close(Account account){
+        requireJournal();
+        if(account != null){
+            long seq = 0;
+            structureLock.writeLock().lock();
+            try {
+                int i = find(account);
+                if(i == -1){
+                    return false;
+                }
+                Account closed = accounts[i];
+                TransactionJournal j = journal;
+                if(j != null){
+                    seq = j.logClose(closed);
+                }
+                remove(i);
+                index[family(closed.GetType())].remove(closed.getProfile());
+                partitionOf(closed.GetType()).remove(closed.getProfile());
+                sortedView = null;
+            } finally {
+                structureLock.writeLock().unlock();
+            }
+            sync(seq);
+            return true;
+        }
+        return false;
+
+    } //remove the given account
+
+    /**
+     * Adds an account after the last account of its type, keeping the accounts grouped by type.
+     * The first account of each later type is moved to the end of that type to make room, so this
+     * moves at most one account per type. The array must have room for one more account.
+     *
+     * @param account the account to add.
+     */
+    private void append(Account account) {
+        columns.add(account);
+        int i = numAcct++;
+        accounts[i] = account;
+        int type = AccountColumns.typeCode(account.GetType());
+        for(int t = AccountColumns.SAVINGS; t > type; t--){
+            int first = typeStart[t]++;
+            swap(i, first);
+            i = first;
+        }
+        reindex(i);
+    }
+
+    /**
+     * Removes the account at the given index, keeping the accounts grouped by type. The last account of
+     * its type is moved into its slot, and the freed slot is passed on to the end of the array by moving
+     * the last account of each later type, so this moves at most one account per type.
+     * This does not keep the accounts of a type in order, which is fine since listings walk the sorted
+     * partitions. The caller removes the account from the index.
+     *
+     * @param i the index of the account to remove.
+     */
+    private void remove(int i) {
+        int hole = i;
+        for(int t = AccountColumns.typeCode(accounts[i].GetType()); ; t++){
+            int end = t == AccountColumns.SAVINGS ? numAcct : typeStart[t + 1];
+            swap(hole, end - 1);
+            hole = end - 1;
+            if(t == AccountColumns.SAVINGS){
+                break;
+            }
+            typeStart[t + 1] = hole;
+        }
+        int last = --numAcct;
+        columns.remove(accounts[last], accounts[last]);
+        accounts[last] = null;
+    }
+
+    /**
+     * Exchanges two accounts of the array, and their rows, and points the index at their new positions.
+     *
+     * @param a the index of an account.
+     * @param b the index of another account, or {@code a} itself.
+     */
+    private void swap(int a, int b) {
+        if(a == b){
+            return;
+        }
+        Account x = accounts[a];
+        accounts[a] = accounts[b];
+        accounts[b] = x;
+        columns.swap(accounts[a], accounts[b]);
+        reindex(a);
+        reindex(b);
+    }
+
+    /**
+     * Retrieves an account from the database based on the provided profile and account type.
+     * The account is looked up through the hash index, and if an account with a matching profile and type is found,
+     * it is returned.
+     *
+     * @param profile The profile of the account holder.
+     * @param type    The type of account to retrieve (e.g., "Checking", "Savings", etc.).
+     * @return The {@code Account} object that matches the profile and type, or {@code null} if no match is found.
+     */
+    public Account getAccountByProfileAndType(Profile profile,String type) {
+        structureLock.readLock().lock();
+        try {
+            return lookup(profile, type);
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up an account by profile and exact type. The caller must hold the structure lock.
+     *
+     * @param profile The profile of the account holder.
+     * @param type    The type code of the account.
+     * @return The matching account, or {@code null} if there is none.
+     */
+    private Account lookup(Profile profile, String type) {
+        int family = family(type);
+        if(family < 0){
+            return null;
+        }
+        Integer i = index[family].get(profile);
+        if(i != null && accounts[i].GetType().equals(type)){
+            return accounts[i];
+        }
+        return null;
+    }
+
+    /**
+     * Withdraws money from accounts.
+     * @param account obj
+     * @return true if withdrawn successfully, false otherwise.
+     */
+    public boolean withdraw(Account account){
+        requireJournal();
+        if(account != null){
+            long seq = 0;
+            structureLock.readLock().lock();
+            try {
+                int i = find(account);
+                if(i == -1){
+                    return false;
+                }
+                synchronized (stripeFor(accounts[i].getProfile())) {
+                    seq = withdrawLogged(accounts[i], account.getbalance());
+                }
+            } finally {
+                structureLock.readLock().unlock();
+            }
+            sync(seq);
+            return true;
+        }
+        return false;
+    } //false if insufficient fund
+
+    /**
+     * Deposits the specified amount into the given account.
+     * @param account the account to which the deposit is made.
+     */
+    public void deposit(Account account){
+        requireJournal();
+        if(account == null){
+            return;
+        }
+        long seq = 0;
+        structureLock.readLock().lock();
+        try {
+            int i = find(account);
+            if(i != -1){
+                synchronized (stripeFor(accounts[i].getProfile())) {
+                    seq = depositLogged(accounts[i], account.getbalance());
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        sync(seq);
+    }
+
+    /**
+     * Deposits into an account and records the deposit in the journal, if any.
+     * The caller must hold the account's stripe lock.
+     *
+     * @param account the account to deposit into.
+     * @param amount  the amount in dollars.
+     * @return the sequence number of the journal record, or 0 if nothing was recorded.
+     */
+    private long depositLogged(Account account, double amount) {
+        account.deposit(amount);
+        TransactionJournal j = journal;
+        return j == null ? 0 : j.logDeposit(account, Money.toCents(amount));
+    }
+
+    /**
+     * Withdraws from an account and records the withdrawal in the journal if it went through.
+     * The caller must hold the account's stripe lock.
+     *
+     * @param account the account to withdraw from.
+     * @param amount  the amount in dollars.
+     * @return the sequence number of the journal record, or 0 if nothing was recorded.
+     */
+    private long withdrawLogged(Account account, double amount) {
+        long cents = Money.toCents(amount);
+        boolean covered = account.balance() - cents >= 0;
+        account.withdraw(amount);
+        TransactionJournal j = journal;
+        return j == null || !covered ? 0 : j.logWithdraw(account, cents);
+    }
+
+    /**
+     * Deposits an amount into the account with the given profile and type, under that account's stripe lock.
+     *
+     * @param profile The profile of the account holder.
+     * @param type    The type code of the account.
+     * @param amount  The amount to deposit.
+     * @return true if the account exists and the deposit was made, false otherwise.
+     */
+    public boolean deposit(Profile profile, String type, double amount){
+        requireJournal();
+        long seq;
+        structureLock.readLock().lock();
+        try {
+            Account account = lookup(profile, type);
+            if(account == null){
+                return false;
+            }
+            synchronized (stripeFor(profile)) {
+                seq = depositLogged(account, amount);
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        sync(seq);
+        return true;
+    }
+
+    /**
+     * Withdraws an amount from the account with the given profile and type, under that account's stripe lock.
+     *
+     * @param profile The profile of the account holder.
+     * @param type    The type code of the account.
+     * @param amount  The amount to withdraw.
+     * @return The helper message of the withdrawal, or {@code null} if the account does not exist.
+     */
+    public String withdraw(Profile profile, String type, double amount){
+        requireJournal();
+        long seq;
+        String message;
+        structureLock.readLock().lock();
+        try {
+            Account account = lookup(profile, type);
+            if(account == null){
+                return null;
+            }
+            synchronized (stripeFor(profile)) {
+                seq = withdrawLogged(account, amount);
+                message = account.getHelperMessage();
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        sync(seq);
+        return message;
+    }
+
+
+    /**
+     * Applies a batch of deposits and withdrawals. The transactions are grouped by account, each account is
+     * looked up once, and its postings are applied in the order they appear in the batch under one stripe lock.
+     * Postings to different accounts are independent, so grouping does not change the outcome.
+     *
+     * @param batch the transactions to apply.
+     * @return the status of each transaction, at the same position as the transaction in the batch.
+     */
+    public TransactionStatus[] applyBatch(List<Transaction> batch){
+        requireJournal();
+        int n = batch.size();
+        TransactionStatus[] results = new TransactionStatus[n];
+        List<Account> groupAccounts = new ArrayList<>();
+        int[] groupHead = new int[Math.max(n, 1)];
+        int[] groupTail = new int[Math.max(n, 1)];
+        int[] next = new int[n];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Map<Profile, Integer>[] groups = new Map[AccountColumns.SAVINGS + 1];
+        long seq = 0;
+        structureLock.readLock().lock();
+        try {
+            for(int i = 0; i < n; i++){
+                Transaction tx = batch.get(i);
+                if(tx.getAmountCents() <= 0 || family(tx.getAccountType()) < 0){
+                    results[i] = TransactionStatus.INVALID;
+                    continue;
+                }
+                int code = AccountColumns.typeCode(tx.getAccountType());
+                if(groups[code] == null){
+                    groups[code] = new HashMap<>();
+                }
+                Integer group = groups[code].get(tx.getProfile());
+                next[i] = -1;
+                if(group == null){
+                    group = groupAccounts.size();
+                    groups[code].put(tx.getProfile(), group);
+                    groupAccounts.add(lookup(tx.getProfile(), tx.getAccountType()));
+                    groupHead[group] = i;
+                }
+                else{
+                    next[groupTail[group]] = i;
+                }
+                groupTail[group] = i;
+            }
+            for(int g = 0; g < groupAccounts.size(); g++){
+                Account account = groupAccounts.get(g);
+                if(account == null){
+                    for(int i = groupHead[g]; i != -1; i = next[i]){
+                        results[i] = TransactionStatus.ACCOUNT_NOT_FOUND;
+                    }
+                    continue;
+                }
+                synchronized (stripeFor(account.getProfile())) {
+                    for(int i = groupHead[g]; i != -1; i = next[i]){
+                        Transaction tx = batch.get(i);
+                        if(tx.getKind() == Transaction.Kind.WITHDRAW && account.balance() - tx.getAmountCents() < 0){
+                            results[i] = TransactionStatus.INSUFFICIENT_FUNDS;
+                            continue;
+                        }
+                        long logged = tx.getKind() == Transaction.Kind.DEPOSIT
+                                ? depositLogged(account, tx.getAmount())
+                                : withdrawLogged(account, tx.getAmount());
+                        seq = Math.max(seq, logged);
+                        results[i] = TransactionStatus.OK;
+                    }
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        sync(seq);
+        return results;
+    }
+
+    /**
+     * Sorts the backing array of accounts by type and profile.
+     * Listings do not need this, since {@link #getAllAccounts()} and {@link #getInterestInfo()}
+     * already walk the accounts in sorted order.
+     * The array is rebuilt from the sorted type partitions, which takes O(N) no matter how the
+     * accounts were ordered before, and does not recurse.
+     */
+    public void Sort(){
+        structureLock.writeLock().lock();
+        try {
+            if(numAcct < 1){
+                return;
+            }
+            copySorted(accounts);
+            columns.reorder(accounts, numAcct);
+            for(int i = 0; i < numAcct; i++){
+                reindex(i);
+            }
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    } //sort by account type and profile
+
+    /**
+     * Writes every account to a binary snapshot, see {@link AccountSnapshot}.
+     * Changes are blocked while the snapshot is written, so it matches one point in time.
+     *
+     * @param path the file to write.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if a date of birth is out of range; nothing is written.
+     */
+    public void saveSnapshot(Path path) throws IOException {
+        structureLock.writeLock().lock();
+        try {
+            Account[] sorted = new Account[numAcct];
+            copySorted(sorted);
+            AccountSnapshot.write(path, sorted, numAcct);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads a database from a binary snapshot written by {@link #saveSnapshot(Path)}.
+     * The accounts are not journaled; call {@link #checkpoint()} after attaching a journal.
+     *
+     * @param path the file to read.
+     * @return the loaded database.
+     * @throws IOException if the file cannot be read, is corrupt, or has an unknown version.
+     */
+    public static AccountDatabase loadSnapshot(Path path) throws IOException {
+        return AccountSnapshot.read(path);
+    }
+
+    /**
+     * Fills an empty database with accounts that are already in sorted order and free of duplicates,
+     * skipping the checks {@link #open(Account)} makes. The accounts are not journaled, even if a journal
+     * is attached; {@link #checkpoint()} writes them to it.
+     *
+     * @param sorted the accounts in sorted order.
+     * @param count  the number of accounts in {@code sorted}.
+     * @throws IllegalStateException if the database is not empty.
+     */
+    void loadSorted(Account[] sorted, int count) {
+        structureLock.writeLock().lock();
+        try {
+            if(numAcct != 0){
+                throw new IllegalStateException("Database is not empty.");
+            }
+            if(accounts.length <= count){
+                accounts = new Account[count + 1];
+                columns.resize(accounts.length);
+            }
+            int runStart = 0;
+            for(int i = 0; i < count; i++){
+                append(sorted[i]);
+                if(i + 1 == count || !sorted[i + 1].GetType().equals(sorted[runStart].GetType())){
+                    partitionOf(sorted[runStart].GetType()).putAll(new SortedRun(sorted, runStart, i + 1));
+                    runStart = i + 1;
+                }
+            }
+            sortedView = null;
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+
+
+    /**
+     * Gathers information about the monthly interest and fees for all accounts in the database,
+     * sorted by account type and profile. The method will return {@code null} if there are no accounts to process. Each entry in the list
+     * contains a string representation of an account followed by its monthly fee and monthly interest
+     * in a specific format.
+     *
+     * @return A list of strings where each string contains details of an account's monthly fee and interest.
+     *         If there are no accounts, the method returns {@code null}. The list ends with a marker
+     *         indicating the end of the list.
+     */
+    public List<String> getInterestInfo(){
+
+        List<String> InfoList = new ArrayList<>();
+        structureLock.readLock().lock();
+        try {
+            if(numAcct < 1){
+                return null;
+            }
+            StringBuilder line = new StringBuilder(128);
+            for(TreeMap<Profile, Account> partition : partitions){
+                for(Account account : partition.values()){
+                    synchronized (stripeFor(account.getProfile())) {
+                        line.setLength(0);
+                        InfoList.add(account.appendInterestInfo(line).toString());
+                    }
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        InfoList.add("*end of list.");
+        return InfoList;
+    }
+
+    /**
+     * Writes every account in sorted order, one per line in its {@code toString} format. The lines are
+     * rendered into one reusable builder and handed to the output in large chunks, so no String is
+     * created per account. Changes to the database wait until the listing is done.
+     *
+     * @param out where to write the listing.
+     * @throws IOException if the output cannot be written.
+     */
+    public void printAccounts(Appendable out) throws IOException {
+        print(out, false);
+    }
+
+    /**
+     * Writes every account in sorted order with its monthly fee and interest, one per line in the
+     * format of {@link #getInterestInfo()}, without the end-of-list marker.
+     *
+     * @param out where to write the listing.
+     * @throws IOException if the output cannot be written.
+     */
+    public void printInterestInfo(Appendable out) throws IOException {
+        print(out, true);
+    }
+
+    /**
+     * Writes every account in sorted order to a byte stream as UTF-8 text, one per line,
+     * encoding straight from the rendering buffer. The stream is flushed but not closed.
+     *
+     * @param out the stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void exportAccounts(OutputStream out) throws IOException {
+        Utf8Sink sink = new Utf8Sink(out);
+        printAccounts(sink);
+        sink.flush();
+    }
+
+    /**
+     * Renders the accounts in sorted order, with or without their fee and interest, into chunks
+     * handed to the output.
+     *
+     * @param out  where to write the listing.
+     * @param fees whether to add the monthly fee and interest of each account.
+     * @throws IOException if the output cannot be written.
+     */
+    private void print(Appendable out, boolean fees) throws IOException {
+        StringBuilder chunk = new StringBuilder(PRINT_CHUNK + 256);
+        structureLock.readLock().lock();
+        try {
+            for(TreeMap<Profile, Account> partition : partitions){
+                for(Account account : partition.values()){
+                    synchronized (stripeFor(account.getProfile())) {
+                        if(fees){
+                            account.appendInterestInfo(chunk);
+                        }
+                        else{
+                            account.appendTo(chunk);
+                        }
+                    }
+                    chunk.append('\n');
+                    if(chunk.length() >= PRINT_CHUNK){
+                        out.append(chunk);
+                        chunk.setLength(0);
+                    }
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        out.append(chunk);
+    }
+
+    /**
+     * Turns the Vector API month-end engine on or off. The engine is only turned on when the
+     * {@code jdk.incubator.vector} module is present; otherwise month-end stays on the scalar pass.
+     *
+     * @param enabled true to use the vector engine for {@link #updateBalances()}.
+     * @return true if the vector engine is now in use, false otherwise.
+     */
+    public boolean setVectorMonthEnd(boolean enabled) {
+        vectorMonthEnd = enabled && VECTOR_API;
+        return vectorMonthEnd;
+    }
+
+    /**
+     * Updates account balances by applying interests and fees.
+     * The pass runs over the columnar store rather than calling each account. With the vector engine on,
+     * each type is processed as one run, since the rows are always grouped by type.
+     */
+    public void updateBalances(){
+        requireJournal();
+        long seq = 0;
+        structureLock.writeLock().lock();
+        try {
+            TransactionJournal j = journal;
+            if(j != null){
+                seq = j.logMonthEnd();
+            }
+            if(vectorMonthEnd){
+                VectorMonthEnd.updateBalances(columns);
+            }
+            else{
+                columns.updateBalances();
+            }
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+        sync(seq);
+    }
+
+    /**
+     * Updates account balances by applying interests and fees, with the rows split across the common
+     * fork-join pool. The balances are identical to {@link #updateBalances()}.
+     *
+     * @return the number of accounts processed and the fees and interest applied, merged in row order.
+     */
+    public MonthEndTotals updateBalancesParallel(){
+        return updateBalancesParallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Updates account balances by applying interests and fees, with the rows split across the given pool.
+     *
+     * @param pool the fork-join pool to run on.
+     * @return the number of accounts processed and the fees and interest applied, merged in row order.
+     */
+    public MonthEndTotals updateBalancesParallel(ForkJoinPool pool){
+        requireJournal();
+        long seq = 0;
+        MonthEndTotals totals;
+        structureLock.writeLock().lock();
+        try {
+            TransactionJournal j = journal;
+            if(j != null){
+                seq = j.logMonthEnd();
+            }
+            totals = columns.updateBalancesParallel(pool);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+        sync(seq);
+        return totals;
+    }
+
+    /**
+     * Read-only sorted map over a run of same-typed accounts in sorted order. Handing it to
+     * {@link TreeMap#putAll} on an empty partition builds the tree in O(N) instead of
+     * inserting the accounts one by one.
+     */
+    private static final class SortedRun extends AbstractMap<Profile, Account> implements SortedMap<Profile, Account> {
+
+        /** The accounts the run is taken from. */
+        private final Account[] sorted;
+
+        /** Index of the first account of the run. */
+        private final int from;
+
+        /** Index after the last account of the run. */
+        private final int to;
+
+        /**
+         * Creates a view of a run of accounts.
+         *
+         * @param sorted the accounts in sorted order.
+         * @param from   the index of the first account of the run.
+         * @param to     the index after the last account of the run.
+         */
+        SortedRun(Account[] sorted, int from, int to) {
+            this.sorted = sorted;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Returns the entries of the run in order.
+         *
+         * @return the entries, keyed by profile.
+         */
+        @Override
+        public Set<Entry<Profile, Account>> entrySet() {
+            return new AbstractSet<Entry<Profile, Account>>() {
+                @Override
+                public Iterator<Entry<Profile, Account>> iterator() {
+                    return new Iterator<Entry<Profile, Account>>() {
+                        private int next = from;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < to;
+                        }
+
+                        @Override
+                        public Entry<Profile, Account> next() {
+                            if(next >= to){
+                                throw new NoSuchElementException();
+                            }
+                            Account account = sorted[next++];
+                            return new SimpleImmutableEntry<>(account.getProfile(), account);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return to - from;
+                }
+            };
+        }
+
+        /**
+         * Returns null, since the run follows the natural order of profiles like the partitions do.
+         *
+         * @return null.
+         */
+        @Override
+        public Comparator<? super Profile> comparator() {
+            return null;
+        }
+
+        /**
+         * Returns the first profile of the run.
+         *
+         * @return the first profile.
+         * @throws NoSuchElementException if the run is empty.
+         */
+        @Override
+        public Profile firstKey() {
+            if(from == to){
+                throw new NoSuchElementException();
+            }
+            return sorted[from].getProfile();
+        }
+
+        /**
+         * Returns the last profile of the run.
+         *
+         * @return the last profile.
+         * @throws NoSuchElementException if the run is empty.
+         */
+        @Override
+        public Profile lastKey() {
+            if(from == to){
+                throw new NoSuchElementException();
+            }
+            return sorted[to - 1].getProfile();
+        }
+
+        /**
+         * Finds by binary search the index of the first account of the run whose profile is not less than a key.
+         *
+         * @param key the profile to look for.
+         * @return an index from {@code from} to {@code to}.
+         */
+        private int lowerBound(Profile key) {
+            int lo = from;
+            int hi = to;
+            while(lo < hi){
+                int mid = (lo + hi) >>> 1;
+                if(sorted[mid].getProfile().compareTo(key) < 0){
+                    lo = mid + 1;
+                }
+                else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Returns the part of the run from one profile, inclusive, to another, exclusive, as a run over
+         * the same array. Keys beyond the ends of the run are clamped to them.
+         *
+         * @param fromKey the lowest profile of the view.
+         * @param toKey   the profile after the highest profile of the view.
+         * @return the view.
+         * @throws IllegalArgumentException if {@code fromKey} is greater than {@code toKey}.
+         */
+        @Override
+        public SortedMap<Profile, Account> subMap(Profile fromKey, Profile toKey) {
+            if(fromKey.compareTo(toKey) > 0){
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            return new SortedRun(sorted, lowerBound(fromKey), lowerBound(toKey));
+        }
+
+        /**
+         * Returns the part of the run below a profile, as a run over the same array.
+         *
+         * @param toKey the profile after the highest profile of the view.
+         * @return the view.
+         */
+        @Override
+        public SortedMap<Profile, Account> headMap(Profile toKey) {
+            return new SortedRun(sorted, from, lowerBound(toKey));
+        }
+
+        /**
+         * Returns the part of the run from a profile on, as a run over the same array.
+         *
+         * @param fromKey the lowest profile of the view.
+         * @return the view.
+         */
+        @Override
+        public SortedMap<Profile, Account> tailMap(Profile fromKey) {
+            return new SortedRun(sorted, lowerBound(fromKey), to);
+        }
+    }
+}
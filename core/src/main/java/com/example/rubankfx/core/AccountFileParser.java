@@ -0,0 +1,885 @@
+package com.example.rubankfx.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Loader for account files in the {@code bankAccounts.txt} format, one account per line:
+ * {@code type,first,last,mm/dd/yyyy,balance[,campus or loyalty]}.
+ * <p>
+ * The file is memory-mapped one window at a time and scanned byte by byte for commas and line breaks, so
+ * memory use does not grow with the file size, and no String is built per line or per field.
+ * Dates, balances and codes are parsed straight from the bytes; a value in an unusual
+ * form (a sign, an exponent, more than two decimals) falls back to the JDK parser on just that field, so every
+ * line is accepted or rejected exactly as {@code String.split}, {@link Date#makeDate} and
+ * {@link Double#parseDouble} would. Names are deduplicated on their bytes and each distinct name becomes a
+ * String once; each distinct date of birth is built and validated once. Names and profiles are taken from the
+ * database's {@link ProfilePool}, so a holder's accounts share one profile.
+ * <p>
+ * Progress is reported every {@link #PROGRESS_INTERVAL} lines. The import can be cancelled between
+ * any two lines; since every account is opened on its own, the database then holds exactly the
+ * accounts of the lines read so far.
+ * <p>
+ * {@link #loadParallel} splits the file into line-aligned byte ranges that are parsed and validated on
+ * separate threads, and merges the results into the database in file order with
+ * {@link AccountDatabase#openAll}, so messages and duplicate detection come out as in a sequential load.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class AccountFileParser {
+
+    /** Most fields a line is split into; anything after the sixth field is ignored. */
+    private static final int MAX_FIELDS = 6;
+
+    /** Field index of the account type. */
+    private static final int TYPE = 0;
+
+    /** Field index of the first name. */
+    private static final int FNAME = 1;
+
+    /** Field index of the last name. */
+    private static final int LNAME = 2;
+
+    /** Field index of the date of birth. */
+    private static final int DOB = 3;
+
+    /** Field index of the balance. */
+    private static final int BALANCE = 4;
+
+    /** Field index of the campus code or loyalty flag. */
+    private static final int EXTRA = 5;
+
+    /** Size of the part of the file mapped at a time, unless a single line is longer. */
+    private static final int WINDOW = 8 << 20;
+
+    /** Number of lines between progress reports. */
+    private static final int PROGRESS_INTERVAL = 1 << 16;
+
+    /** Number of lines between checks for cancellation. */
+    private static final int CANCEL_INTERVAL = 1 << 10;
+
+    /** Nominal size of the byte ranges parsed in parallel. */
+    private static final int RANGE = 4 << 20;
+
+    /** Message for a Checking or College Checking line whose holder already has one of them. */
+    private static final String DUPLICATE = "Account already exists!";
+
+    /** The mapped window of the file being scanned. */
+    private ByteBuffer buf;
+
+    /** Database the accounts are opened in, or {@code null} when parsing a range in parallel. */
+    private final AccountDatabase database;
+
+    /** Where the lines of a range are collected when parsing in parallel, or {@code null}. */
+    private final ParsedRange range;
+
+    /** Receives a message for every line that is rejected or only partly valid. */
+    private final Consumer<String> messages;
+
+    /** Start of each field of the current line. */
+    private final int[] starts = new int[MAX_FIELDS];
+
+    /** End of each field of the current line. */
+    private final int[] ends = new int[MAX_FIELDS];
+
+    /** Number of fields of the current line, as {@code String.split(",")} would count them. */
+    private int fields;
+
+    /** Distinct names seen so far. */
+    private final NameTable names = new NameTable();
+
+    /** Distinct dates of birth seen so far. */
+    private final DateTable dates = new DateTable();
+
+    /** Checks the dates of birth against the day the import started. */
+    private final DateValidator validator;
+
+    /** Pool the names and profiles are shared through. */
+    private final ProfilePool pool;
+
+    /**
+     * Creates a parser that opens each account in the database as soon as its line is parsed.
+     *
+     * @param database  the database to open the accounts in.
+     * @param messages  the receiver of error messages.
+     * @param validator the validator for the dates of birth.
+     */
+    private AccountFileParser(AccountDatabase database, Consumer<String> messages, DateValidator validator) {
+        this.database = database;
+        this.messages = messages;
+        this.range = null;
+        this.validator = validator;
+        this.pool = database.profiles();
+    }
+
+    /**
+     * Creates a parser that collects the parsed lines of a byte range without touching any database.
+     *
+     * @param range     where to collect the lines and their messages.
+     * @param validator the validator for the dates of birth.
+     * @param pool      the pool of the database the lines will be opened in.
+     */
+    private AccountFileParser(ParsedRange range, DateValidator validator, ProfilePool pool) {
+        this.database = null;
+        this.messages = range::addMessage;
+        this.range = range;
+        this.validator = validator;
+        this.pool = pool;
+    }
+
+    /**
+     * Opens every valid account of a file in the database.
+     *
+     * @param path     the file to load.
+     * @param database the database to open the accounts in.
+     * @param messages the receiver of a message for every rejected line.
+     * @return the number of accounts opened.
+     * @throws IOException if the file cannot be read.
+     */
+    static int load(Path path, AccountDatabase database, Consumer<String> messages) throws IOException {
+        return (int) load(path, database, messages, progress -> { }, () -> false).getOpened();
+    }
+
+    /**
+     * Opens every valid account of a file in the database, reporting progress as it goes
+     * and stopping early if asked to.
+     *
+     * @param path      the file to load.
+     * @param database  the database to open the accounts in.
+     * @param messages  the receiver of a message for every rejected line.
+     * @param progress  the receiver of periodic progress reports.
+     * @param cancelled checked between lines; the import stops once it returns true.
+     * @return the final progress of the import.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ImportProgress load(Path path, AccountDatabase database, Consumer<String> messages,
+                                      Consumer<ImportProgress> progress, BooleanSupplier cancelled) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new AccountFileParser(database, messages, DateValidator.current())
+                    .run(in, 0, in.size(), progress, cancelled);
+        }
+    }
+
+    /**
+     * Opens every valid account of a file in the database, parsing on several threads. The outcome,
+     * including every message and its order, is the same as with
+     * {@link #load(Path, AccountDatabase, Consumer, Consumer, BooleanSupplier)}. Only a bounded number of
+     * parsed ranges wait to be merged at any time. Progress is reported and cancellation checked after
+     * each merged range.
+     *
+     * @param path      the file to load.
+     * @param database  the database to open the accounts in.
+     * @param messages  the receiver of a message for every rejected line.
+     * @param progress  the receiver of progress reports.
+     * @param cancelled checked between ranges; the import stops once it returns true.
+     * @param threads   the number of parsing threads.
+     * @return the final progress of the import.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ImportProgress loadParallel(Path path, AccountDatabase database, Consumer<String> messages,
+                                              Consumer<ImportProgress> progress, BooleanSupplier cancelled,
+                                              int threads) throws IOException {
+        long started = System.nanoTime();
+        DateValidator validator = DateValidator.current();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "account-import-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = in.size();
+            ArrayDeque<Future<ParsedRange>> pending = new ArrayDeque<>();
+            long next = 0;
+            long lines = 0;
+            long opened = 0;
+            long done = 0;
+            boolean stop = false;
+            while (next < size && pending.size() < 2 * threads) {
+                long end = lineStartAtOrAfter(in, next + RANGE);
+                pending.add(submitRange(pool, in, next, end, validator, database.profiles()));
+                next = end;
+            }
+            while (!pending.isEmpty() && !stop) {
+                ParsedRange parsed = await(pending.poll());
+                boolean[] added = database.openAll(parsed.accounts, parsed.lines);
+                int m = 0;
+                for (int i = 0; i < parsed.lines; i++) {
+                    while (m < parsed.messageCount && parsed.messageLines[m] == i) {
+                        messages.accept(parsed.messages.get(m++));
+                    }
+                    if (added[i]) {
+                        opened++;
+                    }
+                    else if (parsed.accounts[i] instanceof Checking) {
+                        messages.accept(DUPLICATE);
+                    }
+                }
+                lines += parsed.lines;
+                done = parsed.end;
+                stop = cancelled.getAsBoolean();
+                if (!stop && next < size) {
+                    long end = lineStartAtOrAfter(in, next + RANGE);
+                    pending.add(submitRange(pool, in, next, end, validator, database.profiles()));
+                    next = end;
+                }
+                if (!stop && !pending.isEmpty()) {
+                    progress.accept(new ImportProgress(lines, done, size, opened, lines - opened,
+                            System.nanoTime() - started, false));
+                }
+            }
+            ImportProgress result = new ImportProgress(lines, done, size, opened, lines - opened,
+                    System.nanoTime() - started, stop && done < size);
+            progress.accept(result);
+            return result;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts parsing a byte range on the pool.
+     *
+     * @param pool      the pool to parse on.
+     * @param in        the file.
+     * @param from      the first byte of the range, at the start of a line.
+     * @param to        the byte after the range, at the start of a line or the end of the file.
+     * @param validator the validator for the dates of birth.
+     * @param profiles  the pool of the database the range will be opened in.
+     * @return the future parsed range.
+     */
+    private static Future<ParsedRange> submitRange(ExecutorService pool, FileChannel in, long from, long to,
+                                                   DateValidator validator, ProfilePool profiles) {
+        return pool.submit(() -> {
+            ParsedRange parsed = new ParsedRange(to);
+            new AccountFileParser(parsed, validator, profiles).run(in, from, to, progress -> { }, () -> false);
+            return parsed;
+        });
+    }
+
+    /**
+     * Waits for a range to be parsed.
+     *
+     * @param future the future parsed range.
+     * @return the parsed range.
+     * @throws IOException if the range could not be read.
+     */
+    private static ParsedRange await(Future<ParsedRange> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Finds the start of the first line that begins at or after a position.
+     *
+     * @param in  the file.
+     * @param pos the position.
+     * @return the start of that line, or the size of the file if there is none.
+     * @throws IOException if the file cannot be read.
+     */
+    private static long lineStartAtOrAfter(FileChannel in, long pos) throws IOException {
+        long size = in.size();
+        if (pos <= 0) {
+            return 0;
+        }
+        long at = pos - 1;
+        while (at < size) {
+            int limit = (int) Math.min(WINDOW, size - at);
+            ByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, at, limit);
+            for (int i = 0; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    return at + i + 1;
+                }
+            }
+            at += limit;
+        }
+        return size;
+    }
+
+    /**
+     * Parses the lines starting in a byte range, one mapped window at a time. A line cut off at the end
+     * of a window is read again from the start of the next window.
+     *
+     * @param in        the file.
+     * @param from      the first byte of the range, at the start of a line.
+     * @param to        the byte after the range; the last line may run past it.
+     * @param progress  the receiver of periodic progress reports.
+     * @param cancelled checked between lines.
+     * @return the final progress.
+     * @throws IOException if the file cannot be read.
+     */
+    private ImportProgress run(FileChannel in, long from, long to, Consumer<ImportProgress> progress,
+                               BooleanSupplier cancelled) throws IOException {
+        long started = System.nanoTime();
+        long size = in.size();
+        long windowStart = from;
+        int window = WINDOW;
+        long lines = 0;
+        long opened = 0;
+        boolean stop = false;
+        while (windowStart < to && !stop) {
+            int limit = (int) Math.min(window, size - windowStart);
+            boolean last = windowStart + limit == size;
+            buf = in.map(FileChannel.MapMode.READ_ONLY, windowStart, limit);
+            int lineStart = 0;
+            while (lineStart < limit && windowStart + lineStart < to) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && buf.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                if (lineEnd == limit && !last) {
+                    break;
+                }
+                int end = lineEnd > lineStart && buf.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                Account account = parseLine(lineStart, end);
+                if (range != null) {
+                    range.add(account);
+                }
+                else if (account != null && database.open(account)) {
+                    opened++;
+                }
+                lineStart = lineEnd + 1;
+                lines++;
+                if (lines % CANCEL_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                    stop = true;
+                    break;
+                }
+                if (lines % PROGRESS_INTERVAL == 0) {
+                    progress.accept(new ImportProgress(lines, Math.min(windowStart + lineStart, size) - from, to - from,
+                            opened, lines - opened, System.nanoTime() - started, false));
+                }
+            }
+            if (lineStart == 0 && !last && !stop) {
+                if (window == Integer.MAX_VALUE) {
+                    throw new IOException("Line at byte " + windowStart + " is too long");
+                }
+                window = window > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : window * 2;
+                continue;
+            }
+            windowStart = Math.min(windowStart + lineStart, size);
+            window = WINDOW;
+        }
+        ImportProgress done = new ImportProgress(lines, windowStart - from, to - from, opened, lines - opened,
+                System.nanoTime() - started, stop);
+        progress.accept(done);
+        return done;
+    }
+
+    /**
+     * Parses one line into an account, reporting the same messages as the text-based loader did.
+     *
+     * @param from the first byte of the line.
+     * @param to   the byte after the last byte of the line.
+     * @return the account, or {@code null} if the line is rejected.
+     */
+    private Account parseLine(int from, int to) {
+        split(from, to);
+        if (fields <= BALANCE) {
+            messages.accept("Incomplete information to add the account");
+            return null;
+        }
+        int dobIndex = dates.find(starts[DOB], ends[DOB]);
+        if (dates.dates[dobIndex] == null) {
+            messages.accept("Date of birth is not a valid! ");
+            return null;
+        }
+        if (!dates.valid[dobIndex]) {
+            return null;
+        }
+        long cents = parseCents(starts[BALANCE], ends[BALANCE]);
+        if (cents == Long.MIN_VALUE) {
+            messages.accept("Invalid number! Please enter a valid number!");
+            return null;
+        }
+        int fname = names.find(starts[FNAME], ends[FNAME]);
+        int lname = names.find(starts[LNAME], ends[LNAME]);
+        Profile profile = pool.profile(names.names[fname], names.names[lname],
+                names.keys[fname], names.keys[lname], dates.dates[dobIndex]);
+        Account account;
+        switch (typeOf(starts[TYPE], ends[TYPE])) {
+            case AccountColumns.CHECKING:
+                account = new Checking(profile, 0);
+                break;
+            case AccountColumns.COLLEGE_CHECKING:
+                if (fields <= EXTRA) {
+                    messages.accept("Not enough data to open an account! ");
+                    return null;
+                }
+                int campus = parseInt(starts[EXTRA], ends[EXTRA]);
+                if (campus == Integer.MIN_VALUE) {
+                    messages.accept("Not a valid campus code, it must be an integer");
+                    return null;
+                }
+                if (campus < 0 || campus > 2) {
+                    messages.accept("Not a valid campus code, must be between 0 and 2");
+                }
+                account = new CollegeChecking(profile, 0, campus);
+                break;
+            case AccountColumns.SAVINGS:
+                if (fields <= EXTRA) {
+                    messages.accept("Not enough data to open an account!");
+                    return null;
+                }
+                boolean loyal = ends[EXTRA] - starts[EXTRA] == 1 && buf.get(starts[EXTRA]) == '1';
+                account = new Savings(profile, 0, loyal);
+                break;
+            case AccountColumns.MONEY_MARKET:
+                account = new MoneyMarket(profile, 0);
+                break;
+            default:
+                messages.accept("Account cannot be created! Wrong Account type");
+                return null;
+        }
+        account.setBalance(cents);
+        if (database != null && account instanceof Checking && database.contains(account)) {
+            messages.accept(DUPLICATE);
+        }
+        return account;
+    }
+
+    /**
+     * Finds the fields of a line and sets {@link #fields}.
+     * Like {@code String.split(",")}, trailing empty fields are not counted.
+     *
+     * @param from the first byte of the line.
+     * @param to   the byte after the last byte of the line.
+     */
+    private void split(int from, int to) {
+        int count = 0;
+        int nonEmpty = 0;
+        int start = from;
+        for (int i = from; i <= to && count < MAX_FIELDS; i++) {
+            if (i == to || buf.get(i) == ',') {
+                starts[count] = start;
+                ends[count] = i;
+                count++;
+                if (i > start) {
+                    nonEmpty = count;
+                }
+                start = i + 1;
+            }
+        }
+        if (count == MAX_FIELDS && nonEmpty < count) {
+            // A later non-empty field keeps the empty ones in front of it.
+            for (int i = start; i < to; i++) {
+                if (buf.get(i) != ',') {
+                    nonEmpty = count;
+                    break;
+                }
+            }
+        }
+        fields = nonEmpty;
+    }
+
+    /**
+     * Maps the account type field to its type code.
+     *
+     * @param from the first byte of the field.
+     * @param to   the byte after the last byte of the field.
+     * @return the type code, or -1 if the type is unknown.
+     */
+    private int typeOf(int from, int to) {
+        int length = to - from;
+        byte first = length > 0 ? buf.get(from) : 0;
+        if (length == 1 && first == 'C') {
+            return AccountColumns.CHECKING;
+        }
+        if (length == 1 && first == 'S') {
+            return AccountColumns.SAVINGS;
+        }
+        if (length == 2 && first == 'C' && buf.get(from + 1) == 'C') {
+            return AccountColumns.COLLEGE_CHECKING;
+        }
+        if (length == 2 && first == 'M' && buf.get(from + 1) == 'M') {
+            return AccountColumns.MONEY_MARKET;
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a balance into cents. Plain decimals with at most two decimal places are read from the bytes;
+     * anything else goes through {@link Double#parseDouble} so it is accepted and rounded the same way.
+     *
+     * @param from the first byte of the field.
+     * @param to   the byte after the last byte of the field.
+     * @return the balance in cents, or {@link Long#MIN_VALUE} if the field is not a number.
+     */
+    private long parseCents(int from, int to) {
+        int i = from;
+        boolean negative = i < to && buf.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long units = 0;
+        int digits = 0;
+        while (i < to && isDigit(buf.get(i)) && digits < 15) {
+            units = units * 10 + (buf.get(i++) - '0');
+            digits++;
+        }
+        long fraction = 0;
+        int decimals = 0;
+        if (i < to && buf.get(i) == '.') {
+            i++;
+            while (i < to && isDigit(buf.get(i)) && decimals < 2) {
+                fraction = fraction * 10 + (buf.get(i++) - '0');
+                decimals++;
+            }
+        }
+        if (i == to && digits + decimals > 0) {
+            for (; decimals < 2; decimals++) {
+                fraction *= 10;
+            }
+            long cents = units * Money.CENTS_PER_DOLLAR + fraction;
+            return negative ? -cents : cents;
+        }
+        try {
+            return Money.toCents(Double.parseDouble(text(from, to)));
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Parses an integer field. Plain digits are read from the bytes; anything else goes through
+     * {@link Integer#parseInt}.
+     *
+     * @param from the first byte of the field.
+     * @param to   the byte after the last byte of the field.
+     * @return the value, or {@link Integer#MIN_VALUE} if the field is not an integer.
+     */
+    private int parseInt(int from, int to) {
+        if (to > from && to - from <= 9) {
+            int value = 0;
+            int i = from;
+            while (i < to && isDigit(buf.get(i))) {
+                value = value * 10 + (buf.get(i++) - '0');
+            }
+            if (i == to) {
+                return value;
+            }
+        }
+        try {
+            return Integer.parseInt(text(from, to));
+        } catch (NumberFormatException e) {
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Copies a range of bytes into a String, for the rare fields the fast paths do not handle.
+     *
+     * @param from the first byte.
+     * @param to   the byte after the last byte.
+     * @return the text.
+     */
+    private String text(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks whether a byte is an ASCII digit.
+     *
+     * @param b the byte.
+     * @return true if it is a digit.
+     */
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Hashes a range of bytes.
+     *
+     * @param from the first byte.
+     * @param to   the byte after the last byte.
+     * @return the hash.
+     */
+    private int hash(int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + buf.get(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Hashes stored bytes the same way as {@link #hash(int, int)}.
+     *
+     * @param bytes the bytes.
+     * @return the hash.
+     */
+    private static int hash(byte[] bytes) {
+        int h = 1;
+        for (byte b : bytes) {
+            h = 31 * h + b;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Compares stored bytes with a range of the file.
+     *
+     * @param bytes the stored bytes.
+     * @param from  the first byte of the range.
+     * @param to    the byte after the last byte of the range.
+     * @return true if they are equal.
+     */
+    private boolean matches(byte[] bytes, int from, int to) {
+        if (bytes.length != to - from) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != buf.get(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Open-addressing hash table from byte strings of the file to ids given out in insertion order.
+     * Ids stay valid when the table grows, so several lookups on the same line can be combined.
+     */
+    private class ByteTable {
+
+        /** Id plus one of the entry in each slot, or 0 for a free slot. */
+        private int[] slots = new int[1 << 10];
+
+        /** Bytes of each entry, by id. */
+        byte[][] raw = new byte[1 << 9][];
+
+        /** Number of entries. */
+        int size;
+
+        /**
+         * Finds the id of a byte string, adding it if it is new.
+         *
+         * @param from the first byte of the string.
+         * @param to   the byte after the last byte of the string.
+         * @return the id.
+         */
+        int find(int from, int to) {
+            int mask = slots.length - 1;
+            int slot = hash(from, to) & mask;
+            while (slots[slot] != 0) {
+                int id = slots[slot] - 1;
+                if (matches(raw[id], from, to)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int id = size++;
+            if (id == raw.length) {
+                grow(raw.length * 2);
+            }
+            raw[id] = new byte[to - from];
+            buf.get(from, raw[id]);
+            slots[slot] = id + 1;
+            added(id);
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        /**
+         * Fills in the values of a new entry.
+         *
+         * @param id the id of the entry.
+         */
+        void added(int id) {
+        }
+
+        /**
+         * Grows the per-id arrays.
+         *
+         * @param capacity the new number of ids.
+         */
+        void grow(int capacity) {
+            raw = Arrays.copyOf(raw, capacity);
+        }
+
+        /**
+         * Doubles the slot array.
+         */
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = hash(raw[id]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+        }
+    }
+
+    /**
+     * Table of the distinct names of the file, holding each name and its case-folded form as pooled Strings.
+     */
+    private final class NameTable extends ByteTable {
+
+        /** Each name, by id. */
+        String[] names = new String[raw.length];
+
+        /** Each name in lower case, by id. */
+        String[] keys = new String[raw.length];
+
+        /**
+         * Decodes a new name and looks it and its case-folded key up in the pool.
+         *
+         * @param id the id of the name.
+         */
+        @Override
+        void added(int id) {
+            names[id] = pool.name(new String(raw[id], StandardCharsets.UTF_8));
+            keys[id] = pool.key(names[id]);
+        }
+
+        /**
+         * Grows the per-id arrays.
+         *
+         * @param capacity the new number of ids.
+         */
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            names = Arrays.copyOf(names, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+    }
+
+    /**
+     * Table of the distinct date fields of the file, holding each parsed date
+     * and whether it passed {@link Date#isValid()}.
+     */
+    private final class DateTable extends ByteTable {
+
+        /** Each parsed date by id, or {@code null} if the field could not be parsed. */
+        Date[] dates = new Date[raw.length];
+
+        /** Whether each date is a valid date of birth, by id. */
+        boolean[] valid = new boolean[raw.length];
+
+        /**
+         * Parses and validates a new date.
+         *
+         * @param id the id of the date.
+         */
+        @Override
+        void added(int id) {
+            dates[id] = parseDate(raw[id]);
+            valid[id] = dates[id] != null && validator.isValid(dates[id]);
+        }
+
+        /**
+         * Grows the per-id arrays.
+         *
+         * @param capacity the new number of ids.
+         */
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            dates = Arrays.copyOf(dates, capacity);
+            valid = Arrays.copyOf(valid, capacity);
+        }
+    }
+
+    /**
+     * Parses a date field in {@code mm/dd/yyyy} form. Plain digits are read from the bytes;
+     * anything else goes through {@link Date#makeDate}.
+     *
+     * @param bytes the field.
+     * @return the date, or {@code null} if the field is not a date.
+     */
+    private static Date parseDate(byte[] bytes) {
+        int packed = Date.parsePacked(ByteBuffer.wrap(bytes), 0, bytes.length);
+        if (packed == Date.NOT_PACKED) {
+            return Date.makeDate(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return Date.ofPacked(packed);
+    }
+
+    /**
+     * Lines of one byte range parsed in parallel: the account of every line, or {@code null} if the line
+     * was rejected, and the messages of each line. Duplicate checks are left to the merge.
+     */
+    private static final class ParsedRange {
+
+        /** The byte after the range. */
+        private final long end;
+
+        /** The account of each line, or {@code null} for a rejected line. */
+        private Account[] accounts = new Account[1 << 10];
+
+        /** Number of lines parsed. */
+        private int lines;
+
+        /** Messages of the range, in order. */
+        private final List<String> messages = new ArrayList<>();
+
+        /** Line of each message. */
+        private int[] messageLines = new int[16];
+
+        /** Number of messages. */
+        private int messageCount;
+
+        /**
+         * Creates an empty range.
+         *
+         * @param end the byte after the range.
+         */
+        ParsedRange(long end) {
+            this.end = end;
+        }
+
+        /**
+         * Records the outcome of the next line.
+         *
+         * @param account the account of the line, or {@code null} if it was rejected.
+         */
+        void add(Account account) {
+            if (lines == accounts.length) {
+                accounts = Arrays.copyOf(accounts, lines * 2);
+            }
+            accounts[lines++] = account;
+        }
+
+        /**
+         * Records a message of the line being parsed.
+         *
+         * @param message the message.
+         */
+        void addMessage(String message) {
+            if (messageCount == messageLines.length) {
+                messageLines = Arrays.copyOf(messageLines, messageCount * 2);
+            }
+            messageLines[messageCount++] = lines;
+            messages.add(message);
+        }
+    }
+}
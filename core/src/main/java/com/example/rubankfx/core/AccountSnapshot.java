@@ -0,0 +1,233 @@
+package com.example.rubankfx.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary image of a whole {@link AccountDatabase}, which loads without parsing or validating text.
+ * <p>
+ * The file starts with a magic number, a format version, flags, the number of accounts and the number of
+ * distinct names. Then comes the name dictionary, each name once as length-prefixed UTF-8, and one fixed-size
+ * record per account: type code, first and last name as dictionary ids, packed date of birth, balance in
+ * cents and the fields of its type. A CRC32 of everything before it ends the file.
+ * <p>
+ * When {@link #FLAG_SORTED} is set, the records are in the database's sorted order and no two of them
+ * conflict, so the loader can skip the duplicate checks and rebuild the lookup index in one pass.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+final class AccountSnapshot {
+
+    /** First four bytes of every snapshot, "RBKS". */
+    private static final int MAGIC = 0x52424B53;
+
+    /** Current format version. */
+    private static final short VERSION = 1;
+
+    /** Flag set when the records are sorted and free of duplicates. */
+    private static final byte FLAG_SORTED = 1;
+
+    /** Size of the magic number, version, flags and the two counts. */
+    private static final int HEADER = 4 + 2 + 1 + 4 + 4;
+
+    /** Size of the trailing checksum. */
+    private static final int TRAILER = 4;
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private AccountSnapshot() {
+    }
+
+    /**
+     * Writes the given accounts to a snapshot file. The file is written next to the target, forced to
+     * the disk and then moved over it, so a crash never leaves a half-written snapshot in place.
+     *
+     * @param path   the file to write.
+     * @param sorted the accounts in sorted order, with no duplicates.
+     * @param count  the number of accounts in {@code sorted}.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if a date of birth does not fit the packed form; nothing is written.
+     */
+    static void write(Path path, Account[] sorted, int count) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] fnameIds = new int[count];
+        int[] lnameIds = new int[count];
+        for (int i = 0; i < count; i++) {
+            if (sorted[i].getProfile().getPackedDob() == Date.NOT_PACKED) {
+                throw new IllegalArgumentException("Date of birth out of range for a snapshot: " + sorted[i].getProfile());
+            }
+            fnameIds[i] = nameId(sorted[i].getProfile().getFname(), ids, names);
+            lnameIds[i] = nameId(sorted[i].getProfile().getLname(), ids, names);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeByte(FLAG_SORTED);
+            out.writeInt(count);
+            out.writeInt(names.size());
+            for (String name : names) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            for (int i = 0; i < count; i++) {
+                Account account = sorted[i];
+                byte type = AccountColumns.typeCode(account.GetType());
+                out.writeByte(type);
+                out.writeInt(fnameIds[i]);
+                out.writeInt(lnameIds[i]);
+                out.writeInt(account.getProfile().getPackedDob());
+                out.writeLong(account.balance());
+                switch (type) {
+                    case AccountColumns.COLLEGE_CHECKING:
+                        out.writeByte(((CollegeChecking) account).getCampusCode());
+                        break;
+                    case AccountColumns.SAVINGS:
+                        out.writeBoolean(((Savings) account).isLoyal());
+                        break;
+                    case AccountColumns.MONEY_MARKET:
+                        out.writeBoolean(((MoneyMarket) account).isLoyal());
+                        out.writeInt(((MoneyMarket) account).withdrawals());
+                        break;
+                    default:
+                        break;
+                }
+            }
+            out.flush();
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a snapshot into a new database.
+     *
+     * @param path the file to read.
+     * @return the database holding the accounts of the snapshot.
+     * @throws IOException if the file cannot be read, is corrupt, or has an unknown version.
+     */
+    static AccountDatabase read(Path path) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size < HEADER + TRAILER || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a snapshot: " + path);
+            }
+            ByteBuffer buf = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            crc.update(buf.slice(0, (int) size - TRAILER));
+            if (buf.getInt(0) != MAGIC || buf.getInt((int) size - TRAILER) != (int) crc.getValue()) {
+                throw new IOException("Corrupt snapshot: " + path);
+            }
+            buf.position(4);
+            short version = buf.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + path);
+            }
+            byte flags = buf.get();
+            int count = buf.getInt();
+            AccountDatabase database = new AccountDatabase(count);
+            ProfilePool pool = database.profiles();
+            String[] names = new String[buf.getInt()];
+            String[] keys = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+                buf.get(bytes);
+                names[i] = pool.name(new String(bytes, StandardCharsets.UTF_8));
+                keys[i] = pool.key(names[i]);
+            }
+            Account[] accounts = new Account[count];
+            for (int i = 0; i < count; i++) {
+                accounts[i] = readAccount(buf, names, keys, pool);
+            }
+            if ((flags & FLAG_SORTED) != 0) {
+                database.loadSorted(accounts, count);
+            }
+            else {
+                for (Account account : accounts) {
+                    database.open(account);
+                }
+            }
+            return database;
+        }
+    }
+
+    /**
+     * Decodes one account record.
+     *
+     * @param buf   the buffer, positioned at the record.
+     * @param names the name dictionary.
+     * @param keys  the case-folded form of each dictionary name.
+     * @param pool  the pool the profile is taken from.
+     * @return the account.
+     */
+    private static Account readAccount(ByteBuffer buf, String[] names, String[] keys, ProfilePool pool) {
+        byte type = buf.get();
+        int fname = buf.getInt();
+        int lname = buf.getInt();
+        Profile profile = pool.profile(names[fname], names[lname], keys[fname], keys[lname],
+                Date.ofPacked(buf.getInt()));
+        long cents = buf.getLong();
+        Account account;
+        switch (type) {
+            case AccountColumns.CHECKING:
+                account = new Checking(profile, 0);
+                break;
+            case AccountColumns.COLLEGE_CHECKING:
+                account = new CollegeChecking(profile, 0, buf.get());
+                break;
+            case AccountColumns.SAVINGS:
+                account = new Savings(profile, 0, buf.get() != 0);
+                break;
+            default:
+                MoneyMarket mm = new MoneyMarket(profile, 0);
+                mm.setLoyal(buf.get() != 0);
+                mm.setWithdrawals(buf.getInt());
+                account = mm;
+                break;
+        }
+        account.setBalance(cents);
+        return account;
+    }
+
+    /**
+     * Returns the dictionary id of a name, adding it to the dictionary if it is new.
+     *
+     * @param name  the name.
+     * @param ids   the id of every name added so far.
+     * @param names the names in id order.
+     * @return the id.
+     */
+    private static int nameId(String name, Map<String, Integer> ids, List<String> names) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+}
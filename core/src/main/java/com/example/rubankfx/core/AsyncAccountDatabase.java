@@ -0,0 +1,224 @@
+package com.example.rubankfx.core;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous facade over an {@link AccountDatabase}, for services that embed the engine. Every operation
+ * runs on the given executor and returns a {@link CompletableFuture} that completes with the result of the
+ * matching database method, or exceptionally with the exception it threw, e.g. an {@code IOException}.
+ * <p>
+ * The database locks internally, so any number of operations may run at once; operations that must happen
+ * in order, such as a deposit and then a listing, should be chained on their futures.
+ * <p>
+ * Profiles for {@link #close}, {@link #deposit} and {@link #withdraw} should come from
+ * {@link ProfilePool#find} on {@code database().profiles()}, which does not grow the pool.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class AsyncAccountDatabase {
+
+    /** Database the operations are applied to. */
+    private final AccountDatabase database;
+
+    /** Executor the operations run on. */
+    private final Executor executor;
+
+    /**
+     * Creates a facade running its operations on the common fork-join pool.
+     *
+     * @param database the database to operate on.
+     */
+    public AsyncAccountDatabase(AccountDatabase database) {
+        this(database, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a facade running its operations on an executor.
+     *
+     * @param database the database to operate on.
+     * @param executor the executor to run the operations on.
+     */
+    public AsyncAccountDatabase(AccountDatabase database, Executor executor) {
+        this.database = database;
+        this.executor = executor;
+    }
+
+    /**
+     * Reads a database from a snapshot file in the background.
+     *
+     * @param path     the snapshot file.
+     * @param executor the executor to read it on, and to run the operations of the returned facade on.
+     * @return a future facade over the database read.
+     */
+    public static CompletableFuture<AsyncAccountDatabase> loadSnapshot(Path path, Executor executor) {
+        return submit(executor, () -> new AsyncAccountDatabase(AccountDatabase.loadSnapshot(path), executor));
+    }
+
+    /**
+     * Returns the database, for calls that are cheap enough to make directly.
+     *
+     * @return the database.
+     */
+    public AccountDatabase database() {
+        return database;
+    }
+
+    /**
+     * Opens an account.
+     *
+     * @param account the account to open.
+     * @return a future of true if the account was opened, false if the holder already has one like it.
+     */
+    public CompletableFuture<Boolean> open(Account account) {
+        return submit(() -> database.open(account));
+    }
+
+    /**
+     * Closes the account with the given profile and type.
+     *
+     * @param profile the profile of the account holder.
+     * @param type    the type code of the account.
+     * @return a future of true if the account existed and was closed.
+     */
+    public CompletableFuture<Boolean> close(Profile profile, String type) {
+        return submit(() -> {
+            Account account = database.getAccountByProfileAndType(profile, type);
+            return account != null && database.close(account);
+        });
+    }
+
+    /**
+     * Deposits into the account with the given profile and type.
+     *
+     * @param profile the profile of the account holder.
+     * @param type    the type code of the account.
+     * @param amount  the amount to deposit.
+     * @return a future of true if the account exists and the deposit was made.
+     */
+    public CompletableFuture<Boolean> deposit(Profile profile, String type, double amount) {
+        return submit(() -> database.deposit(profile, type, amount));
+    }
+
+    /**
+     * Withdraws from the account with the given profile and type.
+     *
+     * @param profile the profile of the account holder.
+     * @param type    the type code of the account.
+     * @param amount  the amount to withdraw.
+     * @return a future of the message of the withdrawal, or of {@code null} if the account does not exist.
+     */
+    public CompletableFuture<String> withdraw(Profile profile, String type, double amount) {
+        return submit(() -> database.withdraw(profile, type, amount));
+    }
+
+    /**
+     * Applies a batch of deposits and withdrawals, as {@link AccountDatabase#applyBatch}.
+     *
+     * @param batch the transactions to apply.
+     * @return a future of the status of each transaction, at the same position as in the batch.
+     */
+    public CompletableFuture<TransactionStatus[]> applyBatch(List<Transaction> batch) {
+        return submit(() -> database.applyBatch(batch));
+    }
+
+    /**
+     * Applies the monthly fees and interest to every account, splitting the work over the common pool.
+     *
+     * @return a future of the totals of the month end.
+     */
+    public CompletableFuture<MonthEndTotals> updateBalances() {
+        return submit(database::updateBalancesParallel);
+    }
+
+    /**
+     * Opens every valid account of a file in the {@code bankAccounts.txt} format, parsing on every core.
+     *
+     * @param path     the file to load.
+     * @param messages the receiver of a message for every rejected line; called from a single thread at a time.
+     * @return a future of the outcome of the import.
+     */
+    public CompletableFuture<ImportProgress> importAccounts(Path path, Consumer<String> messages) {
+        return submit(() -> AccountFileParser.loadParallel(path, database, messages, progress -> { },
+                () -> false, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Lists every account in sorted order with its monthly fee and interest, as
+     * {@link AccountDatabase#getInterestInfo()}.
+     *
+     * @return a future of the lines of the listing.
+     */
+    public CompletableFuture<List<String>> interestInfo() {
+        return submit(database::getInterestInfo);
+    }
+
+    /**
+     * Writes every account in sorted order to a byte stream as UTF-8 text, as
+     * {@link AccountDatabase#exportAccounts}. The stream is flushed but not closed.
+     *
+     * @param out the stream to write to.
+     * @return a future that completes once the listing has been written.
+     */
+    public CompletableFuture<Void> exportAccounts(OutputStream out) {
+        return submit(() -> {
+            database.exportAccounts(out);
+            return null;
+        });
+    }
+
+    /**
+     * Writes a snapshot of the database to a file, as {@link AccountDatabase#saveSnapshot}.
+     *
+     * @param path the file to write.
+     * @return a future that completes once the snapshot has been written.
+     */
+    public CompletableFuture<Void> saveSnapshot(Path path) {
+        return submit(() -> {
+            database.saveSnapshot(path);
+            return null;
+        });
+    }
+
+    /**
+     * Runs an operation on the executor of this facade.
+     *
+     * @param operation the operation.
+     * @param <T>       the type of its result.
+     * @return a future of its result.
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> operation) {
+        return submit(executor, operation);
+    }
+
+    /**
+     * Runs an operation on an executor. Unlike {@link CompletableFuture#supplyAsync}, the operation may throw
+     * a checked exception, and the future then completes with that exception rather than with a wrapper.
+     *
+     * @param executor  the executor.
+     * @param operation the operation.
+     * @param <T>       the type of its result.
+     * @return a future of its result; it completes exceptionally if the executor refuses the operation.
+     */
+    private static <T> CompletableFuture<T> submit(Executor executor, Callable<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(operation.call());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+}
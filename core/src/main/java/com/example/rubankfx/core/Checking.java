@@ -1,6 +1,4 @@
-package com.example.rubankfx;
-
-import java.text.DecimalFormat;
+package com.example.rubankfx.core;
 
 /**
  * Represents a checking account with associated functionalities.
@@ -13,8 +11,14 @@ public class Checking extends Account {
     /** Constant interest rate for the checking account. */
     private static final double INTEREST_RATE = 0.01;
 
-    /** Constant monthly fee for the checking account. */
-    private static final double FEE = 12.0;
+    /** Constant monthly fee for the checking account, in cents. */
+    static final long FEE = 1200;
+
+    /** Balance in cents at or above which the monthly fee is waived. */
+    static final long FEE_WAIVER_BALANCE = 100000;
+
+    /** Monthly interest rate applied to the balance. */
+    static final double MONTHLY_RATE = INTEREST_RATE / 12.0;
 
     /**
      * Constructs a new checking account with the specified holder and balance.
@@ -54,10 +58,18 @@ public class Checking extends Account {
      */
     @Override
     public double monthlyInterest() {
-        double result = balance * (INTEREST_RATE / 12.0);
-        DecimalFormat df = new DecimalFormat("#.00");
-        String formattedResult = df.format(result);
-        return Double.parseDouble(formattedResult);
+        return Money.toDollars(interestOn(balance()));
+    }
+
+    /**
+     * Calculates the monthly interest of a Checking account holding the given balance.
+     * Shared with the columnar month-end pass in {@link AccountColumns}.
+     *
+     * @param balance The balance in cents.
+     * @return The monthly interest in cents.
+     */
+    static long interestOn(long balance) {
+        return Money.percentOf(balance, MONTHLY_RATE);
     }
 
     /**
@@ -67,7 +79,17 @@ public class Checking extends Account {
      */
     @Override
     public double monthlyFee() {
-        if(balance >= 1000){
+        return Money.toDollars(feeOn(balance()));
+    }
+
+    /**
+     * Calculates the monthly fee of a Checking account holding the given balance.
+     *
+     * @param balance The balance in cents.
+     * @return The monthly fee in cents, or 0 if the balance is at or above a certain threshold.
+     */
+    static long feeOn(long balance) {
+        if(balance >= FEE_WAIVER_BALANCE){
             return 0;
         }
         return FEE;
@@ -80,7 +102,18 @@ public class Checking extends Account {
      */
     @Override
     public String toString() {
-        return "Checking::" + holder + "::Balance $" + getbalance();
+        return appendTo(new StringBuilder(64)).toString();
+    }
+
+    /**
+     * Appends the Checking account in its {@link #toString} format.
+     *
+     * @param sb the builder to append to.
+     * @return the same builder.
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        return appendBalance(holder.appendTo(sb.append("Checking::")));
     }
 
     /**
@@ -89,6 +122,6 @@ public class Checking extends Account {
      */
     @Override
     public void applyWithdraw() {
-        balance +=  monthlyInterest() - monthlyFee();
+        setBalance(balance() + interestOn(balance()) - feeOn(balance()));
     }
 }
@@ -1,6 +1,4 @@
-package com.example.rubankfx;
-
-import java.text.DecimalFormat;
+package com.example.rubankfx.core;
 
 /**
  * Represents a College Checking account type which extends the base Checking class.
@@ -14,8 +12,11 @@ public class CollegeChecking extends Checking {
     /** Constant interest rate for the College Checking account */
     private static final double INTEREST_RATE = 0.01;
 
-    /** Constant fee for the College Checking account */
-    private static final double FEE = 0.0;
+    /** Constant fee for the College Checking account, in cents */
+    static final long FEE = 0;
+
+    /** Monthly interest rate applied to the balance */
+    static final double MONTHLY_RATE = INTEREST_RATE/12;
 
     /**
      * Enum representing various campuses.
@@ -70,6 +71,15 @@ public class CollegeChecking extends Checking {
         }
     }
 
+    /**
+     * Returns the code of the campus associated with the account.
+     *
+     * @return the campus code (0 to 2), or -1 if the account has no valid campus
+     */
+    public int getCampusCode() {
+        return campus == null ? -1 : campus.value;
+    }
+
     /**
      * Creates a new CollegeChecking account with the specified profile, balance, and campus code.
      * This static factory method enforces validation on the campus code before creating a new account.
@@ -97,12 +107,17 @@ public class CollegeChecking extends Checking {
      */
     @Override
     public double monthlyInterest() {
-        double unroundedInterest = balance * (INTEREST_RATE/12);
-
-        DecimalFormat decimalFormat = new DecimalFormat("#0.00");
-        String formattedInterest = decimalFormat.format(unroundedInterest);
+        return Money.toDollars(interestOn(balance()));
+    }
 
-        return Double.parseDouble(formattedInterest);
+    /**
+     * Calculates the monthly interest of a College Checking account holding the given balance.
+     *
+     * @param balance The balance in cents.
+     * @return The monthly interest in cents.
+     */
+    static long interestOn(long balance) {
+        return Money.percentOf(balance, MONTHLY_RATE);
     }
 
     /**
@@ -112,6 +127,16 @@ public class CollegeChecking extends Checking {
      */
     @Override
     public double monthlyFee() {
+        return Money.toDollars(feeOn(balance()));
+    }
+
+    /**
+     * Calculates the monthly fee of a College Checking account, which does not depend on the balance.
+     *
+     * @param balance The balance in cents.
+     * @return the fee of the account in cents
+     */
+    static long feeOn(long balance) {
         return FEE;
     }
 
@@ -129,7 +154,7 @@ public class CollegeChecking extends Checking {
      */
     @Override
     public void applyWithdraw() {
-        balance +=  monthlyInterest() - monthlyFee();
+        setBalance(balance() + interestOn(balance()) - feeOn(balance()));
     }
 
     //College Checking::Roy Brooks 10/31/1999::Balance $2,909.10::NEWARK
@@ -139,7 +164,17 @@ public class CollegeChecking extends Checking {
      * @return a string representing the College Checking account
      */
     public String toString() {
-        String temp =  "College Checking::" + holder + "::Balance $" + getbalance();
-        return temp;
+        return appendTo(new StringBuilder(64)).toString();
+    }
+
+    /**
+     * Appends the College Checking account in its {@link #toString} format.
+     *
+     * @param sb the builder to append to.
+     * @return the same builder.
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        return appendBalance(holder.appendTo(sb.append("College Checking::")));
     }
 }
@@ -0,0 +1,552 @@
+package com.example.rubankfx.core;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The Date class represents a valid date object. It provides functionality to check the validity of a date, compare it to other dates, and
+ * convert it to a string for representation. This class is immutable once created.
+ * <p>
+ * The date is held as one packed int, year, month and day bit fields from high to low, so that comparing
+ * two dates is a single int comparison. A date whose fields do not fit the packing, such as a parsed
+ * "1/99/2000", keeps its fields separately so it still prints and compares as written.
+ *
+ * @author Digvijay Singh, Arun Felix
+ */
+public class Date implements Comparable<Date>{
+
+    // constants
+    public static final int QUADRENNIAL = 4;
+    public static final int CENTENNIAL = 100;
+    public static final int QUATERCENTENNIAL = 400;
+    public static final int JAN = 1;
+    public static final int FEB = 2;
+    public static final int MAR = 3;
+    public static final int APR = 4;
+    public static final int MAY = 5;
+    public static final int JUN = 6;
+    public static final int JUL = 7;
+    public static final int AUG = 8;
+    public static final int SEP = 9;
+    public static final int OCT = 10;
+    public static final int NOV = 11;
+    public static final int DEC = 12;
+
+
+    /** Returned by the {@code parsePacked} methods for text they cannot turn into a packed date. */
+    public static final int NOT_PACKED = -1;
+
+    /** Number of bits of the packed day field. */
+    private static final int DAY_BITS = 5;
+
+    /** Number of bits of the packed month field. */
+    private static final int MONTH_BITS = 4;
+
+    /** Largest year that fits the packing while keeping packed dates non-negative. */
+    private static final int MAX_PACKED_YEAR = (1 << (Integer.SIZE - 1 - DAY_BITS - MONTH_BITS)) - 1;
+
+    /** Year, month and day as bit fields, or {@link #NOT_PACKED} if they do not fit. */
+    private final int packed;
+
+    /** Year, month and day of a date that does not fit the packing, or {@code null}. */
+    private final int[] unpacked;
+
+    private String lastMessage;
+
+    /**
+     * Initializes a new Date object with a specified year, month, and day.
+     * Once created, the object is immutable.
+     *
+     * @param year The year for the date.
+     * @param month The month for the date.
+     * @param day The day for the date.
+     */
+    public Date (int year, int month, int day){
+        if (fits(year, month, day)) {
+            this.packed = pack(year, month, day);
+            this.unpacked = null;
+        }
+        else {
+            this.packed = NOT_PACKED;
+            this.unpacked = new int[] {year, month, day};
+        }
+    }
+
+    /**
+     * Initializes a Date from its packed form.
+     *
+     * @param packed The packed date, as returned by {@link #packed()}.
+     */
+    private Date(int packed) {
+        this.packed = packed;
+        this.unpacked = null;
+    }
+
+    /**
+     * Creates a Date from its packed form.
+     *
+     * @param packed A packed date, as returned by {@link #packed()} or a {@code parsePacked} method.
+     * @return The date.
+     * @throws IllegalArgumentException if the value is not a packed date.
+     */
+    public static Date ofPacked(int packed) {
+        if (packed < 0) {
+            throw new IllegalArgumentException("Not a packed date: " + packed);
+        }
+        return new Date(packed);
+    }
+
+    /**
+     * Checks whether a year, month and day fit the packing.
+     *
+     * @param year The year.
+     * @param month The month.
+     * @param day The day.
+     * @return true if they fit.
+     */
+    private static boolean fits(int year, int month, int day) {
+        return year >= 0 && year <= MAX_PACKED_YEAR && month >= 0 && month < (1 << MONTH_BITS)
+                && day >= 0 && day < (1 << DAY_BITS);
+    }
+
+    /**
+     * Packs a year, month and day into bit fields. For fields that fit the packing,
+     * the packed values order like the dates.
+     *
+     * @param year The year.
+     * @param month The month.
+     * @param day The day.
+     * @return The packed date.
+     */
+    private static int pack(int year, int month, int day) {
+        return (year << (MONTH_BITS + DAY_BITS)) | (month << DAY_BITS) | day;
+    }
+
+    /**
+     * Returns the date packed as year, month and day bit fields.
+     *
+     * @return The packed date, or {@link #NOT_PACKED} if its fields do not fit the packing.
+     */
+    int packed() {
+        return packed;
+    }
+
+    /**
+     * Parses a date in M/D/YYYY form from a range of characters without allocating.
+     * Only plain digits separated by two slashes are accepted; leading zeros are allowed.
+     *
+     * @param text The characters.
+     * @param from The index of the first character of the date.
+     * @param to The index after the last character of the date.
+     * @return The packed date, or {@link #NOT_PACKED} if the text is not in that form or does not fit.
+     */
+    public static int parsePacked(CharSequence text, int from, int to) {
+        int month = 0;
+        int day = 0;
+        int year = 0;
+        int field = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9' && digits < 9) {
+                int d = c - '0';
+                if (field == 0) {
+                    month = month * 10 + d;
+                }
+                else if (field == 1) {
+                    day = day * 10 + d;
+                }
+                else {
+                    year = year * 10 + d;
+                }
+                digits++;
+            }
+            else if (c == '/' && digits > 0 && field < 2) {
+                field++;
+                digits = 0;
+            }
+            else {
+                return NOT_PACKED;
+            }
+        }
+        if (field != 2 || digits == 0 || !fits(year, month, day)) {
+            return NOT_PACKED;
+        }
+        return pack(year, month, day);
+    }
+
+    /**
+     * Parses a date in M/D/YYYY form from a range of bytes without allocating.
+     * Only plain ASCII digits separated by two slashes are accepted; leading zeros are allowed.
+     *
+     * @param buf The bytes.
+     * @param from The index of the first byte of the date.
+     * @param to The index after the last byte of the date.
+     * @return The packed date, or {@link #NOT_PACKED} if the bytes are not in that form or do not fit.
+     */
+    public static int parsePacked(ByteBuffer buf, int from, int to) {
+        int month = 0;
+        int day = 0;
+        int year = 0;
+        int field = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b >= '0' && b <= '9' && digits < 9) {
+                int d = b - '0';
+                if (field == 0) {
+                    month = month * 10 + d;
+                }
+                else if (field == 1) {
+                    day = day * 10 + d;
+                }
+                else {
+                    year = year * 10 + d;
+                }
+                digits++;
+            }
+            else if (b == '/' && digits > 0 && field < 2) {
+                field++;
+                digits = 0;
+            }
+            else {
+                return NOT_PACKED;
+            }
+        }
+        if (field != 2 || digits == 0 || !fits(year, month, day)) {
+            return NOT_PACKED;
+        }
+        return pack(year, month, day);
+    }
+
+    /**
+     * Static function which creates the Date object.
+     * Plain M/D/YYYY input is parsed in place; anything else is split and parsed field by field.
+     * @param input String containing date in MM/DD/YYYY format.
+     * @return Date object assuming parsing succeeds. Null otherwise.
+     */
+    public static Date makeDate(String input){
+        int fast = parsePacked(input, 0, input.length());
+        if (fast != NOT_PACKED) {
+            return new Date(fast);
+        }
+        try {
+            String [] dateArray = input.split("/");
+            int month = Integer.parseInt(dateArray[0]);
+            int day = Integer.parseInt(dateArray[1]);
+            int year = Integer.parseInt(dateArray[2]);
+            return new Date(year,month,day);
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the year component of the date.
+     *
+     * @return The year.
+     */
+    public int getyear(){
+        return unpacked == null ? packed >>> (MONTH_BITS + DAY_BITS) : unpacked[0];
+    }
+
+    /**
+     * Returns the month component of the date.
+     *
+     * @return The month.
+     */
+    public int getmonth(){
+        return unpacked == null ? (packed >>> DAY_BITS) & ((1 << MONTH_BITS) - 1) : unpacked[1];
+    }
+
+    /**
+     * Returns the day component of the date.
+     *
+     * @return The day.
+     */
+    public int getDay(){
+        return unpacked == null ? packed & ((1 << DAY_BITS) - 1) : unpacked[2];
+    }
+
+    /**
+     * Checks if the date is valid and meets the specific conditions:
+     * 1. It is a future date or the current date.
+     * 2. The age of all account holders must be above 16.
+     * 3. The day and month combination is valid.
+     *
+     * @return true if the date is valid according to the mentioned conditions,
+     * @return false otherwise. If the date is not valid, it prints an error message
+     */
+    public Boolean isValid() {
+        DateValidator validator = DateValidator.current();
+        String message = validator.validityMessage(this);
+        if (message != null) {
+            lastMessage = message;
+        }
+        return validator.isValid(this);
+    }
+
+    /**
+     * Checks whether the month and day make a real calendar date, leap years included.
+     * Does not look at the current date.
+     *
+     * @return true if the date exists in the calendar.
+     */
+    boolean isRealDate() {
+        int month = getmonth();
+        return month >= JAN && month <= DEC && getDay() >= 1 && !isInvalidDayForMonth();
+    }
+
+    /**
+     * Checks whether the date is held packed, which is the case for every date whose fields are in range.
+     *
+     * @return true if the date is packed.
+     */
+    boolean isPacked() {
+        return unpacked == null;
+    }
+
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    /**
+     * Checks if the date (representing a date of birth) is valid for a College Checking account.
+     * The criteria for validity is based on an age range of 16 to 24, inclusive.
+     *
+     * @return true if the age derived from the date is between 16 to 24, inclusive;
+     *         false otherwise.
+     */
+    public boolean checkCollegeCheckingValidity() {
+        DateValidator validator = DateValidator.current();
+        String message = validator.collegeCheckingMessage(this);
+        if (message != null) {
+            lastMessage = message;
+        }
+        return validator.isCollegeCheckingAge(this);
+    }
+
+    /**
+     * Checks if the day is valid for the given month of the Date object.
+     * It considers the different number of days in each month and also
+     * accounts for leap years for February.
+     *
+     * @return true if the day is invalid for the given month, false otherwise.
+     */
+    private boolean isInvalidDayForMonth() {
+        int year = getyear();
+        int month = getmonth();
+        int maxDays;
+        if (month == FEB) {
+            maxDays = isLeapYear(year) ? 29 : 28;
+        } else {
+            maxDays = (month == APR || month == JUN || month == SEP || month == NOV) ? 30 : 31;
+        }
+        return getDay() > maxDays;
+    }
+
+    /**
+     * Compares the specified object with this date for equality.
+     * Return true if and only if the specified object is
+     * also a date and both dates represent the same year, month, and day.
+     *
+     * @param the object to be compared for equality with this date.
+     * @return true if the specified object is equal to this date,
+     *         false otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        Date otherDate = (Date) obj;
+
+        // Check if year, month, and day are equal
+        if (unpacked == null && otherDate.unpacked == null) {
+            return packed == otherDate.packed;
+        }
+        return getyear() == otherDate.getyear()
+                && getmonth() == otherDate.getmonth()
+                && getDay() == otherDate.getDay();
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return the packed date, or a hash of the fields of a date that does not fit the packing.
+     */
+    @Override
+    public int hashCode() {
+        return unpacked == null ? packed : Arrays.hashCode(unpacked);
+    }
+
+    /**
+     * Checks if year is a leap year
+     * @param year integer
+     * @return true if year is leap, false otherwise.
+     */
+    private boolean isLeapYear(int year) {
+        if (year % QUADRENNIAL != 0) {
+            return false;
+        }
+
+        if (year % CENTENNIAL != 0) {
+            return true;
+        }
+
+        return year % QUATERCENTENNIAL == 0;
+    }
+
+
+    /**
+     *  Compares two date instances;
+     * @param o Date we can to compare
+     * @return negative number if this date is less than o, positive if greatetr, 0 if equal.
+     */
+    @Override
+    public int compareTo(Date o) {
+        if(this.unpacked == null && o.unpacked == null){
+            return Integer.compare(this.packed, o.packed);
+        }
+        if(this.getyear() != o.getyear()){
+            return Integer.compare(this.getyear(), o.getyear());
+        }
+        if(this.getmonth() != o.getmonth()){
+            return Integer.compare(this.getmonth(), o.getmonth());
+        }
+        return Integer.compare(this.getDay(), o.getDay());
+    }
+
+    /**  This method returns a string representation of the date object in the "month/day/year" format
+     * @return A string representation of the date object.
+     */
+    @Override
+    public String toString(){
+        return appendTo(new StringBuilder(10)).toString();
+    }
+
+    /**
+     * Appends the date in "month/day/year" format to a caller-provided builder, without creating a String.
+     *
+     * @param sb The builder to append to.
+     * @return The same builder.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append(getmonth()).append('/').append(getDay()).append('/').append(getyear());
+    }
+
+    /**
+     * Writes the date in "month/day/year" format into a caller-provided array.
+     * The array needs room for up to 35 characters; a real date takes at most 10.
+     *
+     * @param dst The array to write into.
+     * @param offset The index of the first character to write.
+     * @return The index after the last character written.
+     */
+    public int formatTo(char[] dst, int offset) {
+        offset = writeInt(dst, offset, getmonth());
+        dst[offset++] = '/';
+        offset = writeInt(dst, offset, getDay());
+        dst[offset++] = '/';
+        return writeInt(dst, offset, getyear());
+    }
+
+    /**
+     * Writes an int in decimal into an array.
+     *
+     * @param dst The array to write into.
+     * @param offset The index of the first character to write.
+     * @param value The value.
+     * @return The index after the last character written.
+     */
+    private static int writeInt(char[] dst, int offset, int value) {
+        long v = value;
+        if (v < 0) {
+            dst[offset++] = '-';
+            v = -v;
+        }
+        int digits = 1;
+        for (long rest = v / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            dst[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        return offset + digits;
+    }
+
+    /**
+     * This method contains various test scenarios for date validity and
+     * college checking validity based on age constraints.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+        // 1. Test with valid month and day
+        testDateValidity(2005, 5, 15, true);
+
+        // 2. Test for a future date (Assuming current year is 2023 for simplicity)
+        testDateValidity(2025, 5, 15, false);
+
+        // 3. Test for a past date with age less than 16
+        testDateValidity(2010, 5, 15, false);
+
+        // 4. Test for a past date with age of exactly 16
+        testDateValidity(2007, 10, 18, false);
+
+        // 5. Test for a past date with age between 16 and 24
+        testDateValidity(2000, 5, 15, true);
+
+        // 6. Test for a past date with age more than 24
+        testDateValidity(1995, 5, 15, true);
+
+        // 7. Test for leap year conditions
+        // 7.1 Valid leap year date
+        testDateValidity(2004, 2, 29, true);
+        // 7.2 Invalid leap year date
+        testDateValidity(2003, 2, 29, false);
+
+        // 8. Test for College Checking account validity
+        // 8.1 Age below 16
+        testCollegeCheckingValidity(2010, 5, 15, false);
+        // 8.2 Age 16
+        testCollegeCheckingValidity(2007, 10, 14, true);
+        // 8.3 Age 20 (within range 16-24)
+        testCollegeCheckingValidity(2003, 5, 15, true);
+        // 8.4 Age 25 (out of range 16-24)
+        testCollegeCheckingValidity(1998, 5, 15, false);
+    }
+    /**
+     * Test the validity of a Date object by comparing it to an expected result.
+     *
+     * @param year     The year component of the Date.
+     * @param month    The month component of the Date.
+     * @param day      The day component of the Date.
+     * @param expected The expected validity result (true for valid, false for invalid).
+     */
+    private static void testDateValidity(int year, int month, int day, boolean expected) {
+        Date date = new Date(year, month, day);
+        boolean isValid = date.isValid();
+        String result = isValid == expected ? "PASSED" : "FAILED";
+    }
+    /**
+     * Test the validity of a College Checking Date object by comparing it to an expected result.
+     *
+     * @param year     The year component of the College Checking Date.
+     * @param month    The month component of the College Checking Date.
+     * @param day      The day component of the College Checking Date.
+     * @param expected The expected validity result (true for valid, false for invalid).
+     */
+    private static void testCollegeCheckingValidity(int year, int month, int day, boolean expected) {
+        Date date = new Date(year, month, day);
+        boolean isValid = date.checkCollegeCheckingValidity();
+        String result = isValid == expected ? "PASSED" : "FAILED";
+    }
+
+}
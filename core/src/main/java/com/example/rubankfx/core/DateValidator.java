@@ -0,0 +1,225 @@
+package com.example.rubankfx.core;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Date of birth checks against a fixed "today": whether a date is a real past date of someone at least 16,
+ * and whether its holder is young enough for College Checking. Today is read from a {@link Clock} once,
+ * when the validator is created, so a whole import is checked against the same day and tests can pin it.
+ * <p>
+ * Results are memoized per distinct date in a small direct-mapped table that needs no locking and
+ * allocates nothing, since an import sees only a few thousand distinct dates of birth.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class DateValidator {
+
+    /** Result bit: the month and day make a real calendar date. */
+    private static final int REAL = 1;
+
+    /** Result bit: the holder is at least 16 and younger than 24. */
+    private static final int COLLEGE = 1 << 1;
+
+    /** Result bit: the date is today or later. */
+    private static final int FUTURE = 1 << 2;
+
+    /** Result bit: the holder is younger than 16. */
+    private static final int UNDER_16 = 1 << 3;
+
+    /** Result bit: the holder is 24 or older. */
+    private static final int OVER_24 = 1 << 4;
+
+    /** Bits of a memo entry that hold the result; the packed date sits above them. */
+    private static final int RESULT_BITS = 8;
+
+    /** Marks a memo entry as filled. */
+    private static final long FILLED = 1L << (RESULT_BITS - 1);
+
+    /** Number of memo entries. */
+    private static final int MEMO_SIZE = 1 << 12;
+
+    /** Clock the shared validator reads today from. */
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    /** Shared validator for the current day of {@link #clock}. */
+    private static volatile DateValidator current;
+
+    /** Today's year. */
+    private final int year;
+
+    /** Today's month. */
+    private final int month;
+
+    /** Today's day of the month. */
+    private final int day;
+
+    /** Today. */
+    private final Date today;
+
+    /** Time at which today ends, in epoch milliseconds of the clock. */
+    private final long expires;
+
+    /** Memoized results, each entry holding a packed date and its result bits. */
+    private final AtomicLongArray memo = new AtomicLongArray(MEMO_SIZE);
+
+    /**
+     * Creates a validator for a given day.
+     *
+     * @param today   the day to check against.
+     * @param expires the time at which that day ends, in epoch milliseconds.
+     */
+    private DateValidator(LocalDate today, long expires) {
+        this.year = today.getYear();
+        this.month = today.getMonthValue();
+        this.day = today.getDayOfMonth();
+        this.today = new Date(year, month, day);
+        this.expires = expires;
+    }
+
+    /**
+     * Creates a validator whose today is the current day of a clock.
+     *
+     * @param clock the clock to read today from.
+     * @return the validator.
+     */
+    public static DateValidator of(Clock clock) {
+        LocalDate today = LocalDate.now(clock);
+        long expires = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        return new DateValidator(today, expires);
+    }
+
+    /**
+     * Returns the shared validator for the current day, making a new one once the day is over.
+     *
+     * @return the validator.
+     */
+    public static DateValidator current() {
+        DateValidator validator = current;
+        Clock c = clock;
+        if (validator == null || c.millis() >= validator.expires) {
+            validator = of(c);
+            current = validator;
+        }
+        return validator;
+    }
+
+    /**
+     * Replaces the clock the shared validator reads today from, e.g. with a fixed clock in tests.
+     *
+     * @param newClock the clock.
+     */
+    public static void setClock(Clock newClock) {
+        clock = newClock;
+        current = null;
+    }
+
+    /**
+     * Checks a date the way {@link Date#isValid()} does.
+     *
+     * @param date the date of birth.
+     * @return true if it is a real past date of someone at least 16.
+     */
+    public boolean isValid(Date date) {
+        return (check(date) & (REAL | FUTURE | UNDER_16)) == REAL;
+    }
+
+    /**
+     * Checks a date the way {@link Date#checkCollegeCheckingValidity()} does.
+     *
+     * @param date the date of birth.
+     * @return true if the holder is at least 16 and younger than 24.
+     */
+    public boolean isCollegeCheckingAge(Date date) {
+        return (check(date) & COLLEGE) != 0;
+    }
+
+    /**
+     * Returns the message {@link Date#isValid()} leaves for a date that fails it.
+     *
+     * @param date the date of birth.
+     * @return the message, or {@code null} if the date passes or fails without one.
+     */
+    public String validityMessage(Date date) {
+        int result = check(date);
+        if ((result & REAL) == 0) {
+            return null;
+        }
+        if ((result & FUTURE) != 0) {
+            return "Date cannot be the current or Future Date";
+        }
+        return (result & UNDER_16) != 0 ? "Age cannot be less than 16!" : null;
+    }
+
+    /**
+     * Returns the message {@link Date#checkCollegeCheckingValidity()} leaves for a date that fails it.
+     *
+     * @param date the date of birth.
+     * @return the message, or {@code null} if the date passes.
+     */
+    public String collegeCheckingMessage(Date date) {
+        int result = check(date);
+        if ((result & OVER_24) != 0) {
+            return "Age cannot be more than 24 for College Checking";
+        }
+        return (result & UNDER_16) != 0 ? "Age cannot be less than 16" : null;
+    }
+
+    /**
+     * Looks up or computes the result bits of a date.
+     *
+     * @param date the date of birth.
+     * @return the result bits.
+     */
+    private int check(Date date) {
+        int packed = date.packed();
+        if (!date.isPacked()) {
+            return compute(date);
+        }
+        int h = packed * 0x9E3779B9;
+        int slot = (h ^ (h >>> 16)) & (MEMO_SIZE - 1);
+        long entry = memo.getOpaque(slot);
+        if ((entry & FILLED) != 0 && (int) (entry >>> RESULT_BITS) == packed) {
+            return (int) (entry & (FILLED - 1));
+        }
+        int result = compute(date);
+        memo.setOpaque(slot, ((long) packed << RESULT_BITS) | FILLED | result);
+        return result;
+    }
+
+    /**
+     * Computes the result bits of a date, following {@link Date#isValid()} and
+     * {@link Date#checkCollegeCheckingValidity()} step for step.
+     *
+     * @param date the date of birth.
+     * @return the result bits.
+     */
+    private int compute(Date date) {
+        int y = date.getyear();
+        int m = date.getmonth();
+        int d = date.getDay();
+        int age = year - y;
+        if (m > month || (m == month && d > day)) {
+            age--;
+        }
+        int result = 0;
+        if (age < 16) {
+            result |= UNDER_16;
+        }
+        else if (age >= 24) {
+            result |= OVER_24;
+        }
+        else {
+            result |= COLLEGE;
+        }
+        if (!date.isRealDate()) {
+            return result;
+        }
+        result |= REAL;
+        if (date.compareTo(today) >= 0) {
+            result |= FUTURE;
+        }
+        return result;
+    }
+}
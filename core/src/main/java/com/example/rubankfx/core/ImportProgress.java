@@ -0,0 +1,140 @@
+package com.example.rubankfx.core;
+
+/**
+ * Snapshot of how far an account file import has got: lines and bytes read, accounts opened,
+ * lines rejected, and the time taken so far. The final snapshot of an import also says whether
+ * it was cancelled before reaching the end of the file.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class ImportProgress {
+
+    /** Number of lines read. */
+    private final long lines;
+
+    /** Number of bytes read. */
+    private final long bytes;
+
+    /** Size of the file in bytes. */
+    private final long totalBytes;
+
+    /** Number of accounts opened. */
+    private final long opened;
+
+    /** Number of lines that did not open an account. */
+    private final long rejected;
+
+    /** Time since the import started, in nanoseconds. */
+    private final long elapsedNanos;
+
+    /** Whether the import was cancelled before reaching the end of the file. */
+    private final boolean cancelled;
+
+    /**
+     * Creates a progress snapshot.
+     *
+     * @param lines        the number of lines read.
+     * @param bytes        the number of bytes read.
+     * @param totalBytes   the size of the file in bytes.
+     * @param opened       the number of accounts opened.
+     * @param rejected     the number of lines that did not open an account.
+     * @param elapsedNanos the time since the import started, in nanoseconds.
+     * @param cancelled    whether the import was cancelled.
+     */
+    ImportProgress(long lines, long bytes, long totalBytes, long opened, long rejected,
+                   long elapsedNanos, boolean cancelled) {
+        this.lines = lines;
+        this.bytes = bytes;
+        this.totalBytes = totalBytes;
+        this.opened = opened;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Returns the number of lines read.
+     *
+     * @return the number of lines.
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Returns the number of bytes read.
+     *
+     * @return the number of bytes.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the size of the file.
+     *
+     * @return the size in bytes.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Returns the number of accounts opened.
+     *
+     * @return the number of accounts.
+     */
+    public long getOpened() {
+        return opened;
+    }
+
+    /**
+     * Returns the number of lines that did not open an account, because they were invalid
+     * or the account already existed.
+     *
+     * @return the number of lines.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Returns the fraction of the file read so far.
+     *
+     * @return a value from 0 to 1.
+     */
+    public double getFraction() {
+        return totalBytes == 0 ? 1 : bytes / (double) totalBytes;
+    }
+
+    /**
+     * Returns the average number of lines read per second.
+     *
+     * @return the throughput in lines per second.
+     */
+    public double getLinesPerSecond() {
+        return elapsedNanos == 0 ? 0 : lines * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Checks whether the import was cancelled before reaching the end of the file.
+     * Every line before the point of cancellation was fully processed.
+     *
+     * @return true if the import was cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns a one-line summary of the progress.
+     *
+     * @return the summary.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s%,d lines (%.0f%%), %,d opened, %,d rejected, %,.0f lines/s",
+                cancelled ? "Cancelled after " : "", lines, getFraction() * 100, opened, rejected,
+                getLinesPerSecond());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.rubankfx.core;
+
+/**
+ * Helpers for amounts of money held as a whole number of cents in a {@code long}.
+ * Balances, fees and interest are kept in cents so that rounding never has to go through
+ * a formatter or a String; dollars as a {@code double} only appear at the edges of the API.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class Money {
+
+    /** Number of cents in a dollar. */
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    /** Smallest amount in cents that {@code Double.toString} writes in scientific notation. */
+    private static final long MAX_PLAIN_CENTS = 1_000_000_000L;
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private Money() {
+    }
+
+    /**
+     * Converts a dollar amount to cents, rounding to the nearest cent.
+     *
+     * @param dollars the amount in dollars.
+     * @return the amount in cents.
+     */
+    public static long toCents(double dollars) {
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * Converts an amount in cents to dollars.
+     *
+     * @param cents the amount in cents.
+     * @return the amount in dollars.
+     */
+    public static double toDollars(long cents) {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Appends an amount in cents as dollars, in exactly the form {@code Double.toString(toDollars(cents))}
+     * takes, e.g. "5.0", "36.96" or "-0.05", without creating a String. Amounts of ten million dollars or
+     * more, which {@code Double.toString} writes in scientific notation, go through it.
+     *
+     * @param sb    the builder to append to.
+     * @param cents the amount in cents.
+     * @return the same builder.
+     */
+    public static StringBuilder appendDollars(StringBuilder sb, long cents) {
+        if (cents <= -MAX_PLAIN_CENTS || cents >= MAX_PLAIN_CENTS) {
+            return sb.append(toDollars(cents));
+        }
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
+        }
+        sb.append(cents / CENTS_PER_DOLLAR).append('.');
+        int fraction = (int) (cents % CENTS_PER_DOLLAR);
+        sb.append((char) ('0' + fraction / 10));
+        if (fraction % 10 != 0) {
+            sb.append((char) ('0' + fraction % 10));
+        }
+        return sb;
+    }
+
+    /**
+     * Applies a rate to an amount and rounds the result to the nearest cent, ties to even,
+     * which is how {@code DecimalFormat} rounded interest before.
+     *
+     * @param cents the amount in cents.
+     * @param rate  the rate to apply, e.g. 0.01 for one percent.
+     * @return the rounded result in cents.
+     */
+    public static long percentOf(long cents, double rate) {
+        return (long) Math.rint(cents * rate);
+    }
+}
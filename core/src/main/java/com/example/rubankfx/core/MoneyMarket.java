@@ -0,0 +1,244 @@
+package com.example.rubankfx.core;
+
+/**
+ * Represents a Money Market account.
+ * @author Arun Felix, Digvijay Singh
+ */
+public class MoneyMarket extends Savings {
+    /** Tracks the number of withdrawals made, while the account is not in a database */
+    private int withdrawal;
+
+    /** Constant interest rate for the money market account */
+    private static final double INTEREST_RATE_MONEY_MARKET = 0.045; // 4.5%
+
+    /** Minimum balance in cents required for money market account */
+    static final long MIN_BALANCE = 200000;
+
+    /** Maximum number of withdrawals allowed without incurring a fee */
+    static final int MAX_WITHDRAWALS = 3;
+
+    /** Fee in cents charged for excessive withdrawals */
+    static final long WITHDRAWAL_FEE = 1000;
+
+    /**
+     * Creates a new Money Market account with the specified holder, balance, and number of withdrawals.
+     * Money market accounts has a default loyalty status as True.
+     * @param holder The profile of the account holder.
+     * @param balance The initial balance of the account.
+     */
+    public MoneyMarket(Profile holder, double balance) {
+        super(holder, balance, true);
+        this.withdrawal = 0;
+    }
+
+
+    /**
+     * Calculates the monthly interest for the Money Market account.
+     * @return The monthly interest.
+     */
+    @Override
+    public double monthlyInterest() {
+        return Money.toDollars(interestOn(balance(), isLoyal()));
+    }
+
+    /**
+     * Calculates the monthly interest of a Money Market account with the given balance and loyalty.
+     * Shared with the columnar month-end pass in {@link AccountColumns}.
+     *
+     * @param balance The balance in cents.
+     * @param loyal   The loyalty status of the account holder.
+     * @return The monthly interest in cents.
+     */
+    static long interestOn(long balance, boolean loyal) {
+        return Money.percentOf(balance, rateFor(loyal));
+    }
+
+    /**
+     * Returns the monthly interest rate applied to a Money Market balance.
+     *
+     * @param loyal The loyalty status of the account holder.
+     * @return The monthly interest rate, including the loyalty bonus if applicable.
+     */
+    static double rateFor(boolean loyal) {
+        return (INTEREST_RATE_MONEY_MARKET/12.0) + (loyal ? LOYALTY_BONUS : 0);
+    }
+
+    /**
+     * Constructs and returns a MoneyMarket object based on the provided parameters.
+     *
+     * @param profile object of the user contains name, and date of birth
+     * @param balance double pertaining to initial balance of the account to be created.
+     * @return A new MoneyMarket instance.
+     */
+    public static MoneyMarket makeMoneyMarket(Profile profile, double balance){
+        return new MoneyMarket(profile, balance);
+    }
+
+    /**
+     * Calculates the monthly fee for the Money Market account.
+     * @return The monthly fee.
+     */
+    @Override
+    public double monthlyFee() {
+        if (balance() < MIN_BALANCE) {
+            setLoyal(false);
+        } else if (withdrawals() <= MAX_WITHDRAWALS) {
+            setLoyal(true);
+        }
+        return Money.toDollars(feeOn(balance(), withdrawals()));
+    }
+
+    /**
+     * Calculates the monthly fee of a Money Market account with the given balance and withdrawal count.
+     * Unlike {@link #monthlyFee()}, this does not update the loyalty status.
+     *
+     * @param balance     The balance in cents.
+     * @param withdrawals The number of withdrawals made this month.
+     * @return The monthly fee in cents.
+     */
+    static long feeOn(long balance, int withdrawals) {
+        if (balance < MIN_BALANCE || withdrawals > MAX_WITHDRAWALS) {
+            return WITHDRAWAL_FEE;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns whether an account holding the given balance stays loyal after {@link #monthlyFee()},
+     * given its loyalty status before.
+     *
+     * @param balance     The balance in cents.
+     * @param withdrawals The number of withdrawals made this month.
+     * @param loyal       The loyalty status before the fee is assessed.
+     * @return The loyalty status after the fee is assessed.
+     */
+    static boolean loyalAfterFee(long balance, int withdrawals, boolean loyal) {
+        if (balance < MIN_BALANCE) {
+            return false;
+        }
+        return withdrawals <= MAX_WITHDRAWALS || loyal;
+    }
+
+    /**
+     * Reads the withdrawal count, from the columnar store if the account is in a database.
+     *
+     * @return The number of withdrawals made this month.
+     */
+    int withdrawals() {
+        return columns == null ? withdrawal : columns.withdrawals[row];
+    }
+
+    /**
+     * Writes the withdrawal count, into the columnar store if the account is in a database.
+     *
+     * @param count The new number of withdrawals.
+     */
+    void setWithdrawals(int count) {
+        if(columns == null){
+            withdrawal = count;
+        }
+        else{
+            columns.withdrawals[row] = count;
+        }
+    }
+
+    /**
+     * Copies the withdrawal count back from the columnar store along with the balance and loyalty.
+     */
+    @Override
+    void detach() {
+        int count = withdrawals();
+        super.detach();
+        withdrawal = count;
+    }
+
+    /**
+     * Deposits the specified amount into the account and checks if the updated balance qualifies the account as loyal.
+     * If the balance reaches or exceeds a threshold (in this case, $2000), the account is marked as loyal.
+     *
+     * @param amount the amount to be deposited into the account; must be a positive value.
+     */
+    @Override
+    public void deposit(double amount){
+        setBalance(balance() + Money.toCents(amount));
+        if(balance() >= MIN_BALANCE){
+            setLoyal(true);
+        }
+    }
+
+    /**
+     * Withdraws the specified amount from the Money Market account.
+     * @param amount The amount to be withdrawn.
+     */
+    @Override
+    public void withdraw(double amount) {
+        long cents = Money.toCents(amount);
+        if(this.balance() - cents >= 0){
+            setBalance(balance() - cents);
+            if(balance() < MIN_BALANCE){
+                setLoyal(false);
+            }
+            this.helper = "Withdrawal Successful! ";
+        }
+        else{
+            this.helper = "Cannot Withdraw - insufficient funds in the account: " + this.getProfile().toString() + this.GetType();
+        }
+
+    }
+
+    String helper;
+
+    /**
+     * Retrieves the helper message. This message is typically used to provide feedback on the last operation performed.
+     *
+     * @return the current helper message as a String.
+     */
+
+    public String getHelperMessage() {return helper;}
+
+    /**
+     * Applies the fees to the balance, and resets withdrawal to zero.
+     */
+    @Override
+    public void applyWithdraw() {
+        long interest = Money.toCents(monthlyInterest());
+        setBalance(balance() + interest - Money.toCents(monthlyFee()));
+        setLoyal(!(balance() < MIN_BALANCE));
+        setWithdrawals(0);
+    }
+
+    /** Returns the type of the Account
+     * @return A string representing the type of the account, in this case "MM"
+     */
+    @Override
+    public String GetType(){
+        return "MM";
+    }
+
+    /**
+     * Returns a string representation of the Money Market account.
+     * @return A string representing the Money Market account.
+     */
+    @Override
+    public String toString() {
+        //Money Market::Savings::Roy Brooks 10/31/1979::Balance $2,909.10::is loyal::withdrawal: 0
+        //Money Market::Savings::April March 1/15/1987::Balance $2,500.00::is loyal::withdrawal: 0
+        return appendTo(new StringBuilder(80)).toString();
+    }
+
+    /**
+     * Appends the Money Market account in its {@link #toString} format.
+     *
+     * @param sb the builder to append to.
+     * @return the same builder.
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        holder.appendTo(sb.append("Money Market::Savings::")).append(' ');
+        appendBalance(holder.getDob().appendTo(sb));
+        if (isLoyal()) {
+            sb.append("::is loyal");
+        }
+        return sb.append("::withdrawal: ").append(withdrawals());
+    }
+}
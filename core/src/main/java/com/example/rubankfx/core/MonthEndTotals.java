@@ -0,0 +1,88 @@
+package com.example.rubankfx.core;
+
+/**
+ * Totals of one month-end pass, or of one partition of a parallel pass: how many accounts were
+ * processed, and how much was charged in fees and computed as interest.
+ * Amounts are kept in cents, so merging partitions in any grouping gives the same result.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class MonthEndTotals {
+
+    /** Number of accounts processed. */
+    private int accounts;
+
+    /** Fees charged, in cents. */
+    private long fees;
+
+    /** Interest computed, in cents. */
+    private long interest;
+
+    /**
+     * Creates empty totals. Only the month-end passes of this package create totals.
+     */
+    MonthEndTotals() {
+    }
+
+    /**
+     * Records one processed account.
+     *
+     * @param fee         the fee charged to the account, in cents.
+     * @param interestAmt the interest computed for the account, in cents.
+     */
+    void add(long fee, long interestAmt) {
+        accounts++;
+        fees += fee;
+        interest += interestAmt;
+    }
+
+    /**
+     * Adds the totals of a following partition to these totals.
+     *
+     * @param other the totals to add.
+     * @return these totals, for chaining.
+     */
+    MonthEndTotals merge(MonthEndTotals other) {
+        accounts += other.accounts;
+        fees += other.fees;
+        interest += other.interest;
+        return this;
+    }
+
+    /**
+     * Returns the number of accounts processed.
+     *
+     * @return the number of accounts.
+     */
+    public int getAccounts() {
+        return accounts;
+    }
+
+    /**
+     * Returns the fees charged.
+     *
+     * @return the fees in dollars.
+     */
+    public double getFees() {
+        return Money.toDollars(fees);
+    }
+
+    /**
+     * Returns the interest computed.
+     *
+     * @return the interest in dollars.
+     */
+    public double getInterest() {
+        return Money.toDollars(interest);
+    }
+
+    /**
+     * Returns a summary of the totals.
+     *
+     * @return a string with the number of accounts, fees and interest.
+     */
+    @Override
+    public String toString() {
+        return accounts + " accounts::fees $" + getFees() + "::interest $" + getInterest();
+    }
+}
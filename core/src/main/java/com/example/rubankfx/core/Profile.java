@@ -0,0 +1,179 @@
+package com.example.rubankfx.core;
+
+/**
+ * The Profile class represents an individual's profile with attributes such as first name, last name, and date of birth.
+ * It provides functionalities to create a profile object from a string array and compare profiles.
+ *
+ * @author Digvijay Singh, Arun Felix
+ */
+public class Profile implements Comparable<Profile> {
+
+    /**First name of the profile holder*/
+    private String fname;
+
+    /** Last name of the profile holder*/
+    private String lname;
+
+    /** Date of birth of the profile holder*/
+    private Date dob;
+
+    /** Case-folded first name, computed once so comparisons do not allocate. */
+    private final String fnameKey;
+
+    /** Case-folded last name, computed once so comparisons do not allocate. */
+    private final String lnameKey;
+
+    /**
+     * Date of birth packed as year, month and day bits so it orders like {@link Date#compareTo},
+     * or {@link Date#NOT_PACKED} if it does not fit, in which case the date itself is compared.
+     */
+    private final int packedDob;
+
+    /** Hash of the normalized key, consistent with {@link #equals}. */
+    private final int hash;
+
+    /**
+     * Initializes a new Profile object with a specified first name, last name, and date of birth.
+     *
+     * @param fname The first name for the profile.
+     * @param lname The last name for the profile.
+     * @param dob The date of birth for the profile.
+     */
+    public Profile(String fname, String lname, Date dob) {
+        this(fname, lname, fname.toLowerCase(), lname.toLowerCase(), dob);
+    }
+
+    /**
+     * Initializes a Profile whose case-folded names are already known, e.g. from a name dictionary.
+     *
+     * @param fname The first name for the profile.
+     * @param lname The last name for the profile.
+     * @param fnameKey The first name in lower case.
+     * @param lnameKey The last name in lower case.
+     * @param dob The date of birth for the profile.
+     */
+    Profile(String fname, String lname, String fnameKey, String lnameKey, Date dob) {
+        this.fname = fname;
+        this.lname = lname;
+        this.dob = dob;
+        this.fnameKey = fnameKey;
+        this.lnameKey = lnameKey;
+        this.packedDob = dob.packed();
+        this.hash = 31 * (31 * lnameKey.hashCode() + fnameKey.hashCode()) + dob.hashCode();
+    }
+
+    /**
+     * Retrieves the first name of the profile holder.
+     *
+     * @return The first name.
+     */
+    public String getFname() {
+        return fname;
+    }
+
+    /**
+     * Retrieves the last name of the profile holder.
+     *
+     * @return The last name.
+     */
+    public String getLname() {
+        return lname;
+    }
+
+    /**
+     * Retrieves the date of birth of the profile holder.
+     *
+     * @return The date of birth.
+     */
+    public Date getDob() {
+        return dob;
+    }
+
+    /**
+     * Returns the date of birth packed into an int, as year, month and day bit fields.
+     *
+     * @return The packed date of birth, or {@link Date#NOT_PACKED} if it does not fit the packing.
+     */
+    int getPackedDob() {
+        return packedDob;
+    }
+
+    /**
+     * Returns a string representation of the Profile, which includes the first name, last name, and date of birth.
+     * The format is: "FirstName LastName DateOfBirth", where DateOfBirth is provided by the {@code toString} method of the {@code Date} class.
+     *
+     * @return a string representation of the Profile.
+     */
+    public String toString(){
+        //John Doe 2/19/2000
+        return appendTo(new StringBuilder(32)).toString();
+    }
+
+    /**
+     * Appends the profile in the {@link #toString} format to a caller-provided builder, without creating a String.
+     *
+     * @param sb The builder to append to.
+     * @return The same builder.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        sb.append(fname).append(' ').append(lname).append(' ');
+        return dob.appendTo(sb);
+    }
+    /**
+     * Compares the current profile to another profile object by last name, first name (ignoring case)
+     * and date of birth, using the keys computed at construction.
+     *
+     * @param profile The profile to be compared.
+     * @return A negative integer, zero, or a positive integer as this profile is less than, equal to, or greater than the other.
+     */
+    @Override
+    public int compareTo(Profile profile) {
+        if(this == profile){
+            return 0;
+        }
+        int firstcompare = this.lnameKey.compareTo(profile.lnameKey);
+        if(firstcompare != 0){
+            return firstcompare;
+        }
+        firstcompare = this.fnameKey.compareTo(profile.fnameKey);
+        if(firstcompare != 0){
+            return firstcompare;
+        }
+        if(this.packedDob == Date.NOT_PACKED || profile.packedDob == Date.NOT_PACKED){
+            return this.dob.compareTo(profile.dob);
+        }
+        return Integer.compare(this.packedDob, profile.packedDob);
+    }
+
+    /**
+     * Returns a hash code computed from the case-folded names and the date of birth,
+     * so that profiles which are {@link #equals} hash alike.
+     *
+     * @return the hash code of this profile.
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Checks if this Profile is equal to another object. Equality is determined by comparing the state of this Profile to the state of the other object.
+     * If the other object is also a Profile and their states match (based on {@code compareTo}), they are considered equal.
+     *
+     * @param obj the reference object with which to compare.
+     * @return {@code true} if this object is the same as the {@code obj} argument; {@code false} otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj){
+            return true;
+        }
+        if(obj instanceof Profile){
+            Profile temp = (Profile)obj;
+            return hash == temp.hash && packedDob == temp.packedDob
+                    && lnameKey.equals(temp.lnameKey) && fnameKey.equals(temp.fnameKey)
+                    && (packedDob != Date.NOT_PACKED || dob.equals(temp.dob));
+        }
+        return false;
+    }
+}
@@ -0,0 +1,324 @@
+package com.example.rubankfx.core;
+
+/**
+ * Interning pool for the names and profiles of account holders. Every distinct name is kept as one String
+ * together with its case-folded key, and every distinct profile as one {@link Profile}, so that a holder's
+ * accounts, and all holders sharing a name, point at the same instances. Pooled profiles with the same names
+ * and date of birth are then equal by identity, which {@link Profile#equals} checks first.
+ * <p>
+ * Names are matched exactly, case included, so a pooled profile always shows the names it was created with.
+ * The name dictionary has a single lock, since a loader looks up each distinct name only once; the profiles,
+ * looked up once per account, are split into segments by hash, each with its own lock, so parallel loaders
+ * rarely contend. All tables are open-addressed arrays with no per-entry objects.
+ * <p>
+ * Pooled entries are never evicted, so only profiles of accounts being opened should be pooled with
+ * {@link #profile(String, String, Date)}. Lookups for closing, depositing or withdrawing use
+ * {@link #find(String, String, Date)}, which leaves the pool as it is.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class ProfilePool {
+
+    /** Number of independently locked profile segments. */
+    private static final int SEGMENTS = 16;
+
+    /** Initial number of slots of each table. */
+    private static final int INITIAL_SLOTS = 1 << 6;
+
+    /** Pooled names by slot, or {@code null} for a free slot. Guarded by {@code this}. */
+    private String[] names = new String[INITIAL_SLOTS];
+
+    /** Pooled key of the name in the same slot. */
+    private String[] keys = new String[INITIAL_SLOTS];
+
+    /** Hash of the name in the same slot, so probing rarely has to compare Strings. */
+    private int[] nameHashes = new int[INITIAL_SLOTS];
+
+    /** Number of names. */
+    private int nameCount;
+
+    /** Profile segments, each guarding a part of the profile pool. */
+    private final ProfileSegment[] profiles = new ProfileSegment[SEGMENTS];
+
+    /**
+     * Creates an empty pool.
+     */
+    ProfilePool() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            profiles[i] = new ProfileSegment();
+        }
+    }
+
+    /**
+     * Returns the pooled instance of a name, adding it if it is new.
+     *
+     * @param name the name.
+     * @return the String equal to {@code name} that the pool shares.
+     */
+    synchronized String name(String name) {
+        int slot = intern(name);
+        return names[slot];
+    }
+
+    /**
+     * Returns the pooled case-folded key of a name, adding the name if it is new.
+     * Names differing only in case share one key instance, which is also the pooled lower-case name.
+     *
+     * @param name the name.
+     * @return the name in lower case.
+     */
+    synchronized String key(String name) {
+        int slot = intern(name);
+        return keys[slot];
+    }
+
+    /**
+     * Returns the pooled profile with the given names and date of birth, creating it if it is new.
+     *
+     * @param fname the first name.
+     * @param lname the last name.
+     * @param dob   the date of birth.
+     * @return the shared profile.
+     */
+    public Profile profile(String fname, String lname, Date dob) {
+        String fnameKey;
+        String lnameKey;
+        synchronized (this) {
+            int slot = intern(fname);
+            fname = names[slot];
+            fnameKey = keys[slot];
+            slot = intern(lname);
+            lname = names[slot];
+            lnameKey = keys[slot];
+        }
+        return profile(fname, lname, fnameKey, lnameKey, dob);
+    }
+
+    /**
+     * Returns the pooled profile with the given names and date of birth without adding anything to the pool.
+     * If the profile is not pooled, e.g. because the holder has no account, an unpooled profile is returned,
+     * which is still equal to any matching profile.
+     *
+     * @param fname the first name.
+     * @param lname the last name.
+     * @param dob   the date of birth.
+     * @return the shared profile, or a new profile if there is none.
+     */
+    public Profile find(String fname, String lname, Date dob) {
+        String pooledFname;
+        String pooledLname;
+        synchronized (this) {
+            pooledFname = names[nameSlot(fname, mix(fname.hashCode()))];
+            pooledLname = names[nameSlot(lname, mix(lname.hashCode()))];
+        }
+        if (pooledFname != null && pooledLname != null) {
+            int h = hash(pooledFname, pooledLname, dob.hashCode());
+            Profile p = profiles[h >>> 28].find(h, pooledFname, pooledLname, dob, dob.packed());
+            if (p != null) {
+                return p;
+            }
+        }
+        return new Profile(fname, lname, dob);
+    }
+
+    /**
+     * Returns the pooled profile for names already taken from this pool, creating it if it is new.
+     *
+     * @param fname    the pooled first name.
+     * @param lname    the pooled last name.
+     * @param fnameKey the pooled key of the first name.
+     * @param lnameKey the pooled key of the last name.
+     * @param dob      the date of birth.
+     * @return the shared profile.
+     */
+    Profile profile(String fname, String lname, String fnameKey, String lnameKey, Date dob) {
+        int h = hash(fname, lname, dob.hashCode());
+        return profiles[h >>> 28].intern(h, fname, lname, fnameKey, lnameKey, dob, dob.packed());
+    }
+
+    /**
+     * Finds the slot of a name, adding it with its key if it is new. Must hold the lock of this pool.
+     *
+     * @param name the name.
+     * @return the slot.
+     */
+    private int intern(String name) {
+        int h = mix(name.hashCode());
+        int slot = nameSlot(name, h);
+        if (names[slot] != null) {
+            return slot;
+        }
+        String lower = name.toLowerCase();
+        String key = name;
+        if (!lower.equals(name)) {
+            int keySlot = intern(lower);
+            key = names[keySlot];
+            slot = nameSlot(name, h);
+        }
+        names[slot] = name;
+        keys[slot] = key;
+        nameHashes[slot] = h;
+        if (++nameCount * 2 > names.length) {
+            growNames();
+            slot = nameSlot(name, h);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the slot holding a name, or the free slot where it belongs.
+     *
+     * @param name the name.
+     * @param h    the spread hash of the name.
+     * @return the slot.
+     */
+    private int nameSlot(String name, int h) {
+        int mask = names.length - 1;
+        int slot = h & mask;
+        while (names[slot] != null && (nameHashes[slot] != h || !names[slot].equals(name))) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the name tables.
+     */
+    private void growNames() {
+        String[] oldNames = names;
+        String[] oldKeys = keys;
+        int[] oldHashes = nameHashes;
+        names = new String[oldNames.length * 2];
+        keys = new String[names.length];
+        nameHashes = new int[names.length];
+        int mask = names.length - 1;
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (names[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                names[slot] = oldNames[i];
+                keys[slot] = oldKeys[i];
+                nameHashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    /**
+     * Hashes the exact names and date of birth of a profile. Each part gets its own odd multiplier, since
+     * with the plain {@code 31 * h + x} form nearby names and dates of birth collide all the time.
+     *
+     * @param fname  the first name.
+     * @param lname  the last name.
+     * @param dob    the hash code of the date of birth, which is the packed date when it fits the packing.
+     * @return the hash.
+     */
+    private static int hash(String fname, String lname, int dob) {
+        return mix(fname.hashCode() * 0x85EBCA6B + lname.hashCode() * 0xC2B2AE35 + dob * 0x27D4EB2F);
+    }
+
+    /**
+     * Spreads the bits of a hash.
+     *
+     * @param h the hash.
+     * @return the spread hash.
+     */
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Part of the profile pool, an open-addressed table of profiles keyed by their exact names and date of birth.
+     */
+    private static final class ProfileSegment {
+
+        /** Pooled profiles by slot, or {@code null} for a free slot. */
+        private Profile[] table = new Profile[INITIAL_SLOTS];
+
+        /** Hash of the profile in the same slot, so probing rarely has to touch the profile. */
+        private int[] hashes = new int[INITIAL_SLOTS];
+
+        /** Number of profiles. */
+        private int size;
+
+        /**
+         * Finds a profile, creating it if it is new.
+         *
+         * @param h        the hash of the names and date of birth.
+         * @param fname    the pooled first name.
+         * @param lname    the pooled last name.
+         * @param fnameKey the pooled key of the first name.
+         * @param lnameKey the pooled key of the last name.
+         * @param dob      the date of birth.
+         * @param packed   the packed date of birth.
+         * @return the pooled profile.
+         */
+        synchronized Profile intern(int h, String fname, String lname, String fnameKey, String lnameKey,
+                                    Date dob, int packed) {
+            int mask = table.length - 1;
+            int slot = h & mask;
+            Profile p;
+            while ((p = table[slot]) != null) {
+                if (hashes[slot] == h && p.getFname() == fname && p.getLname() == lname
+                        && p.getPackedDob() == packed && (packed != Date.NOT_PACKED || p.getDob().equals(dob))) {
+                    return p;
+                }
+                slot = (slot + 1) & mask;
+            }
+            p = new Profile(fname, lname, fnameKey, lnameKey, dob);
+            table[slot] = p;
+            hashes[slot] = h;
+            if (++size * 2 > table.length) {
+                grow();
+            }
+            return p;
+        }
+
+        /**
+         * Finds a profile without creating it.
+         *
+         * @param h      the hash of the names and date of birth.
+         * @param fname  the pooled first name.
+         * @param lname  the pooled last name.
+         * @param dob    the date of birth.
+         * @param packed the packed date of birth.
+         * @return the pooled profile, or {@code null} if there is none.
+         */
+        synchronized Profile find(int h, String fname, String lname, Date dob, int packed) {
+            int mask = table.length - 1;
+            int slot = h & mask;
+            Profile p;
+            while ((p = table[slot]) != null) {
+                if (hashes[slot] == h && p.getFname() == fname && p.getLname() == lname
+                        && p.getPackedDob() == packed && (packed != Date.NOT_PACKED || p.getDob().equals(dob))) {
+                    return p;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Doubles the table.
+         */
+        private void grow() {
+            Profile[] oldTable = table;
+            int[] oldHashes = hashes;
+            table = new Profile[oldTable.length * 2];
+            hashes = new int[table.length];
+            int mask = table.length - 1;
+            for (int i = 0; i < oldTable.length; i++) {
+                if (oldTable[i] != null) {
+                    int slot = oldHashes[i] & mask;
+                    while (table[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    table[slot] = oldTable[i];
+                    hashes[slot] = oldHashes[i];
+                }
+            }
+        }
+    }
+}
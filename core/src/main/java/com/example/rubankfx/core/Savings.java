@@ -1,5 +1,4 @@
-package com.example.rubankfx;
-import java.text.DecimalFormat;
+package com.example.rubankfx.core;
 
 /**
  * Represents a Savings account type which extends the base Account class.
@@ -12,8 +11,8 @@ import java.text.DecimalFormat;
  */
 public class Savings extends Account{
 
-    /** Represents if the account holder has loyal customer status */
-    protected boolean isLoyal;
+    /** Represents if the account holder has loyal customer status, while the account is not in a database */
+    private boolean isLoyal;
 
     /** Constant interest rate for the savings account */
     private static final double INTEREST_RATE = 0.04;
@@ -21,11 +20,11 @@ public class Savings extends Account{
     /** Bonus interest rate for loyal customers */
     protected static final double LOYALTY_BONUS = 0.0025;
 
-    /** Monthly fee if the required balance is less than $500*/
-    private static final double FEE = 25;
+    /** Monthly fee in cents if the required balance is less than $500*/
+    static final long FEE = 2500;
 
-    /** Minimum balance required to avoid monthly fee */
-    private static final double MIN_BALANCE_REQUIRED = 500.0;
+    /** Minimum balance in cents required to avoid monthly fee */
+    static final long MIN_BALANCE_REQUIRED = 50000;
 
 
     /**
@@ -56,12 +55,29 @@ public class Savings extends Account{
      */
     @Override
     public double monthlyInterest() {
-        double unroundedInterest = balance * (INTEREST_RATE + (isLoyal ? LOYALTY_BONUS : 0));
+        return Money.toDollars(interestOn(balance(), isLoyal()));
+    }
 
-        DecimalFormat decimalFormat = new DecimalFormat("#0.00");
-        String formattedInterest = decimalFormat.format(unroundedInterest);
+    /**
+     * Calculates the monthly interest of a Savings account with the given balance and loyalty.
+     * Shared with the columnar month-end pass in {@link AccountColumns}.
+     *
+     * @param balance The balance in cents.
+     * @param loyal   The loyalty status of the account holder.
+     * @return The monthly interest in cents.
+     */
+    static long interestOn(long balance, boolean loyal) {
+        return Money.percentOf(balance, rateFor(loyal));
+    }
 
-        return Double.parseDouble(formattedInterest);
+    /**
+     * Returns the interest rate applied to a Savings balance.
+     *
+     * @param loyal The loyalty status of the account holder.
+     * @return The interest rate, including the loyalty bonus if applicable.
+     */
+    static double rateFor(boolean loyal) {
+        return INTEREST_RATE + (loyal ? LOYALTY_BONUS : 0);
     }
     /**
      * Calculates the monthly fee for the Savings account.
@@ -69,9 +85,52 @@ public class Savings extends Account{
      */
     @Override
     public double monthlyFee() {
+        return Money.toDollars(feeOn(balance()));
+    }
+
+    /**
+     * Calculates the monthly fee of a Savings account holding the given balance.
+     *
+     * @param balance The balance in cents.
+     * @return The monthly fee in cents.
+     */
+    static long feeOn(long balance) {
         return balance >= MIN_BALANCE_REQUIRED ? 0 : FEE;
     }
 
+    /**
+     * Reads the loyalty status, from the columnar store if the account is in a database.
+     *
+     * @return true if the account holder is loyal.
+     */
+    protected boolean isLoyal() {
+        return columns == null ? isLoyal : columns.loyal[row];
+    }
+
+    /**
+     * Writes the loyalty status, into the columnar store if the account is in a database.
+     *
+     * @param loyal The new loyalty status.
+     */
+    protected void setLoyal(boolean loyal) {
+        if(columns == null){
+            isLoyal = loyal;
+        }
+        else{
+            columns.loyal[row] = loyal;
+        }
+    }
+
+    /**
+     * Copies the loyalty status back from the columnar store along with the balance.
+     */
+    @Override
+    void detach() {
+        boolean loyal = isLoyal();
+        super.detach();
+        isLoyal = loyal;
+    }
+
     /**
      * @return "S" to specify account type.
      */
@@ -88,13 +147,19 @@ public class Savings extends Account{
     @Override
     public String toString() {
         //Savings::Jane Doe 10/1/1995::Balance $1,000.00
-        if(!isLoyal){
-            return "Savings::" + holder + "::Balance $" + getbalance();
-        }
-        else{
-            return "Savings::" + holder + "::Balance $" + getbalance() + "::is loyal";
-        }
+        return appendTo(new StringBuilder(64)).toString();
+    }
 
+    /**
+     * Appends the Savings account in its {@link #toString} format.
+     *
+     * @param sb the builder to append to.
+     * @return the same builder.
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        appendBalance(holder.appendTo(sb.append("Savings::")));
+        return isLoyal() ? sb.append("::is loyal") : sb;
     }
     /**
      * Deducts the monthly fee and interest from the account balance.
@@ -105,7 +170,7 @@ public class Savings extends Account{
      */
     @Override
     public void applyWithdraw() {
-        balance += monthlyInterest() -  monthlyFee();
+        setBalance(balance() + interestOn(balance(), isLoyal()) -  feeOn(balance()));
     }
 
 
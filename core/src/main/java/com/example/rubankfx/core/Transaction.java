@@ -0,0 +1,114 @@
+package com.example.rubankfx.core;
+
+/**
+ * A single posting to be applied through {@link AccountDatabase#applyBatch}: a deposit to or a withdrawal
+ * from the account identified by a profile and an account type. Transactions are immutable.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class Transaction {
+
+    /**
+     * The kind of posting.
+     */
+    public enum Kind {
+        DEPOSIT,
+        WITHDRAW
+    }
+
+    /** The kind of posting. */
+    private final Kind kind;
+
+    /** Profile of the account holder. */
+    private final Profile profile;
+
+    /** Type code of the account ("C", "CC", "S" or "MM"). */
+    private final String accountType;
+
+    /** Amount of the posting, in cents. */
+    private final long amount;
+
+    /**
+     * Creates a transaction.
+     *
+     * @param kind        the kind of posting.
+     * @param profile     the profile of the account holder.
+     * @param accountType the type code of the account.
+     * @param amount      the amount in dollars.
+     */
+    private Transaction(Kind kind, Profile profile, String accountType, double amount) {
+        this.kind = kind;
+        this.profile = profile;
+        this.accountType = accountType;
+        this.amount = Money.toCents(amount);
+    }
+
+    /**
+     * Creates a deposit.
+     *
+     * @param profile     the profile of the account holder.
+     * @param accountType the type code of the account.
+     * @param amount      the amount to deposit, in dollars.
+     * @return the deposit transaction.
+     */
+    public static Transaction deposit(Profile profile, String accountType, double amount) {
+        return new Transaction(Kind.DEPOSIT, profile, accountType, amount);
+    }
+
+    /**
+     * Creates a withdrawal.
+     *
+     * @param profile     the profile of the account holder.
+     * @param accountType the type code of the account.
+     * @param amount      the amount to withdraw, in dollars.
+     * @return the withdrawal transaction.
+     */
+    public static Transaction withdraw(Profile profile, String accountType, double amount) {
+        return new Transaction(Kind.WITHDRAW, profile, accountType, amount);
+    }
+
+    /**
+     * Returns the kind of posting.
+     *
+     * @return the kind.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the profile of the account holder.
+     *
+     * @return the profile.
+     */
+    public Profile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Returns the type code of the account.
+     *
+     * @return the account type.
+     */
+    public String getAccountType() {
+        return accountType;
+    }
+
+    /**
+     * Returns the amount of the posting.
+     *
+     * @return the amount in dollars.
+     */
+    public double getAmount() {
+        return Money.toDollars(amount);
+    }
+
+    /**
+     * Returns the amount of the posting in cents.
+     *
+     * @return the amount in cents.
+     */
+    long getAmountCents() {
+        return amount;
+    }
+}
@@ -0,0 +1,689 @@
+package com.example.rubankfx.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of every change made to an {@link AccountDatabase}: opens, closes, deposits,
+ * withdrawals and month-end passes. Each record is written as its payload length, a CRC32 of the payload,
+ * and the payload itself, so a record torn by a crash is detected and dropped on replay.
+ * <p>
+ * Appending a record only copies it into a memory buffer and returns its sequence number. A caller that
+ * needs the change to be durable then calls {@link #await(long)}. The first waiter writes every buffered
+ * record and forces the file once; callers that arrive meanwhile wait for that flush or the next one.
+ * Many operations therefore share one fsync (group commit).
+ * <p>
+ * The journal grows with every change until {@link AccountDatabase#checkpoint()} replaces it with one base
+ * record per account, holding that account's whole state. Replaying the new journal rebuilds the same database.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class TransactionJournal implements Closeable {
+
+    /** Record tag for an opened account. */
+    private static final byte OPEN = 1;
+
+    /** Record tag for a closed account. */
+    private static final byte CLOSE = 2;
+
+    /** Record tag for a deposit. */
+    private static final byte DEPOSIT = 3;
+
+    /** Record tag for a withdrawal. */
+    private static final byte WITHDRAW = 4;
+
+    /** Record tag for a month-end pass. */
+    private static final byte MONTH_END = 5;
+
+    /** Record tag for an account as of the last checkpoint, with its whole state. */
+    private static final byte BASE = 6;
+
+    /** Size of the length and checksum in front of every payload. */
+    private static final int HEADER = 8;
+
+    /** Largest encoded name, the most its unsigned 16-bit length field can hold. */
+    private static final int MAX_NAME = 0xFFFF;
+
+    /** Largest payload a record can have: two names of up to 65535 bytes and a few fixed fields. */
+    private static final int MAX_PAYLOAD = 1 << 18;
+
+    /** Size of the window the journal is read through on replay. */
+    private static final int REPLAY_WINDOW = 1 << 20;
+
+    /** Account type of each type code, indexed by {@link AccountColumns#typeCode}. */
+    private static final String[] TYPE_CODES = {"C", "CC", "MM", "S"};
+
+    /** The journal file. */
+    private final Path path;
+
+    /** Channel the journal is appended to; only replaced by a checkpoint, while no flush can run. */
+    private FileChannel channel;
+
+    /** Guards the buffers and counters below. */
+    private final Object lock = new Object();
+
+    /** Records appended but not yet written. */
+    private ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+
+    /** Spare buffer swapped in while {@link #pending} is being written. */
+    private ByteBuffer spare = ByteBuffer.allocate(1 << 16);
+
+    /** Position in {@link #pending} where the record being encoded starts. */
+    private int recordStart;
+
+    /** Sequence number of the last appended record. */
+    private long appended;
+
+    /** Sequence number of the last record known to be on disk. */
+    private long durable;
+
+    /** Whether a caller is currently writing and forcing the file. */
+    private boolean flushing;
+
+    /** The error of a failed flush; once set, no record can be made durable any more. */
+    private IOException failure;
+
+    /** Checksum used while encoding, guarded by {@link #lock}. */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Opens a journal for appending, creating the file if needed.
+     * Use {@link #replay} first to rebuild a database from an existing journal.
+     *
+     * @param path the journal file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public TransactionJournal(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+    }
+
+    /**
+     * Records an opened account.
+     *
+     * @param account the account that was opened.
+     * @return the sequence number of the record.
+     */
+    public long logOpen(Account account) {
+        byte[] fname = utf8(account.getProfile().getFname());
+        byte[] lname = utf8(account.getProfile().getLname());
+        synchronized (lock) {
+            ByteBuffer buf = begin(1 + profileSize(fname, lname) + 8 + 1);
+            buf.put(OPEN);
+            putProfile(buf, account, fname, lname);
+            buf.putLong(account.balance());
+            buf.put(extra(account));
+            return end(buf);
+        }
+    }
+
+    /**
+     * Records a closed account.
+     *
+     * @param account the account that was closed.
+     * @return the sequence number of the record.
+     */
+    public long logClose(Account account) {
+        return logPosting(CLOSE, account, 0);
+    }
+
+    /**
+     * Records a deposit.
+     *
+     * @param account the account deposited into.
+     * @param cents   the amount in cents.
+     * @return the sequence number of the record.
+     */
+    public long logDeposit(Account account, long cents) {
+        return logPosting(DEPOSIT, account, cents);
+    }
+
+    /**
+     * Records a successful withdrawal.
+     *
+     * @param account the account withdrawn from.
+     * @param cents   the amount in cents.
+     * @return the sequence number of the record.
+     */
+    public long logWithdraw(Account account, long cents) {
+        return logPosting(WITHDRAW, account, cents);
+    }
+
+    /**
+     * Records a month-end pass over the whole database.
+     *
+     * @return the sequence number of the record.
+     */
+    public long logMonthEnd() {
+        synchronized (lock) {
+            ByteBuffer buf = begin(1);
+            buf.put(MONTH_END);
+            return end(buf);
+        }
+    }
+
+    /**
+     * Encodes a record naming an account and an amount.
+     *
+     * @param tag     the record tag.
+     * @param account the account.
+     * @param cents   the amount in cents.
+     * @return the sequence number of the record.
+     */
+    private long logPosting(byte tag, Account account, long cents) {
+        byte[] fname = utf8(account.getProfile().getFname());
+        byte[] lname = utf8(account.getProfile().getLname());
+        synchronized (lock) {
+            ByteBuffer buf = begin(1 + profileSize(fname, lname) + 8);
+            buf.put(tag);
+            putProfile(buf, account, fname, lname);
+            buf.putLong(cents);
+            return end(buf);
+        }
+    }
+
+    /**
+     * Waits until the record with the given sequence number, and every record before it, is on disk.
+     * If no other caller is flushing, this caller writes and forces everything appended so far.
+     *
+     * @param seq the sequence number returned when the record was appended.
+     * @throws IOException if writing or forcing the file fails.
+     */
+    public void await(long seq) throws IOException {
+        ByteBuffer batch;
+        long upTo;
+        synchronized (lock) {
+            while (durable < seq && flushing && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for the journal", e);
+                }
+            }
+            if (failure != null) {
+                throw new IOException("Journal is unusable after an earlier write failure", failure);
+            }
+            if (durable >= seq) {
+                return;
+            }
+            flushing = true;
+            batch = pending;
+            pending = spare;
+            pending.clear();
+            recordStart = 0;
+            upTo = appended;
+        }
+        try {
+            flushOutsideLock(batch);
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e;
+                flushing = false;
+                lock.notifyAll();
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            batch.clear();
+            spare = batch;
+            durable = upTo;
+            flushing = false;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Writes a batch of records and forces the file, without holding {@link #lock}.
+     *
+     * @param batch the records to write.
+     * @throws IOException if writing or forcing fails.
+     */
+    private void flushOutsideLock(ByteBuffer batch) throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Replaces the journal with one base record per account, so that it no longer grows with every change.
+     * The new journal is written next to the old one and then moved over it, so a crash leaves either the
+     * old journal or the new one. Records appended before the checkpoint are dropped, since the base records
+     * hold their effect; their waiters are released. The caller must keep the database from changing, and
+     * the accounts must be every account of the database.
+     *
+     * @param accounts the accounts of the database.
+     * @param count    the number of accounts.
+     * @throws IOException if the new journal cannot be written; the old one stays in use unless the
+     *                     move itself failed, in which case the journal becomes unusable.
+     */
+    void checkpoint(Account[] accounts, int count) throws IOException {
+        synchronized (lock) {
+            while (flushing && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for the journal", e);
+                }
+            }
+            if (failure != null) {
+                throw new IOException("Journal is unusable after an earlier write failure", failure);
+            }
+            flushing = true;
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            writeBase(temp, accounts, count);
+        } catch (IOException e) {
+            synchronized (lock) {
+                flushing = false;
+                lock.notifyAll();
+            }
+            throw e;
+        }
+        try {
+            channel.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e;
+                flushing = false;
+                lock.notifyAll();
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            pending.clear();
+            recordStart = 0;
+            durable = appended;
+            flushing = false;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Writes a base record for every account to a new file and forces it.
+     *
+     * @param file     the file to write.
+     * @param accounts the accounts.
+     * @param count    the number of accounts.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void writeBase(Path file, Account[] accounts, int count) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+            CRC32 check = new CRC32();
+            for (int i = 0; i < count; i++) {
+                Account account = accounts[i];
+                byte[] fname = utf8(account.getProfile().getFname());
+                byte[] lname = utf8(account.getProfile().getLname());
+                int size = HEADER + 1 + profileSize(fname, lname) + 8 + 1 + 4;
+                if (buf.remaining() < size) {
+                    writeFully(out, buf);
+                }
+                int start = buf.position();
+                buf.position(start + HEADER);
+                buf.put(BASE);
+                putProfile(buf, account, fname, lname);
+                buf.putLong(account.balance());
+                buf.put(extra(account));
+                buf.putInt(account instanceof MoneyMarket ? ((MoneyMarket) account).withdrawals() : 0);
+                seal(buf, start, check);
+            }
+            writeFully(out, buf);
+            out.force(false);
+        }
+    }
+
+    /**
+     * Writes the contents of a buffer to a channel and clears the buffer.
+     *
+     * @param out the channel.
+     * @param buf the buffer, positioned after its contents.
+     * @throws IOException if writing fails.
+     */
+    private static void writeFully(FileChannel out, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            out.write(buf);
+        }
+        buf.clear();
+    }
+
+    /**
+     * Writes and forces everything appended so far, then closes the file.
+     * The file is closed even if the flush fails.
+     *
+     * @throws IOException if the final flush or the close fails.
+     */
+    @Override
+    public void close() throws IOException {
+        long last;
+        synchronized (lock) {
+            last = appended;
+        }
+        try {
+            await(last);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Rebuilds a database from a journal file by applying every intact record in order.
+     * Reading stops at the first torn or corrupt record, and the file is truncated there,
+     * so a journal opened afterwards appends after the last good record.
+     * The file is read through a window of {@link #REPLAY_WINDOW} bytes, so it may be of any size.
+     *
+     * @param path     the journal file; nothing happens if it does not exist.
+     * @param database the database to apply the records to; it should not have a journal attached.
+     * @return the number of records applied.
+     * @throws IOException if the file cannot be read.
+     */
+    public static int replay(Path path, AccountDatabase database) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        int count = 0;
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            ByteBuffer window = ByteBuffer.allocate(REPLAY_WINDOW);
+            window.limit(0);
+            CRC32 check = new CRC32();
+            long good = 0;
+            while (true) {
+                if (window.remaining() < HEADER) {
+                    window = fill(in, window, good, HEADER);
+                    if (window.remaining() < HEADER) {
+                        break;
+                    }
+                }
+                int length = window.getInt(window.position());
+                int sum = window.getInt(window.position() + 4);
+                if (length <= 0 || length > MAX_PAYLOAD || length > size - good - HEADER) {
+                    break;
+                }
+                if (window.remaining() < HEADER + length) {
+                    window = fill(in, window, good, HEADER + length);
+                    if (window.remaining() < HEADER + length) {
+                        break;
+                    }
+                }
+                ByteBuffer payload = window.slice(window.position() + HEADER, length);
+                check.reset();
+                check.update(payload.duplicate());
+                if ((int) check.getValue() != sum) {
+                    break;
+                }
+                apply(payload, database);
+                window.position(window.position() + HEADER + length);
+                good += HEADER + length;
+                count++;
+            }
+            if (good < size) {
+                in.truncate(good);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Moves the unread bytes of the replay window to its start and reads more of the file after them.
+     *
+     * @param in     the journal file.
+     * @param window the window, positioned at the first unread byte.
+     * @param offset the file position of that byte.
+     * @param needed the number of bytes the caller needs; the window grows if it is smaller.
+     * @return the window, or a larger one, positioned at the first unread byte; it holds fewer than
+     *         {@code needed} bytes only at the end of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    private static ByteBuffer fill(FileChannel in, ByteBuffer window, long offset, int needed) throws IOException {
+        if (window.capacity() < needed) {
+            ByteBuffer bigger = ByteBuffer.allocate(needed);
+            bigger.put(window);
+            window = bigger;
+        }
+        else {
+            window.compact();
+        }
+        long position = offset + window.position();
+        while (window.hasRemaining()) {
+            int read = in.read(window, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        window.flip();
+        return window;
+    }
+
+    /**
+     * Applies one record to a database.
+     *
+     * @param payload  the record payload.
+     * @param database the database to apply it to.
+     */
+    private static void apply(ByteBuffer payload, AccountDatabase database) {
+        byte tag = payload.get();
+        if (tag == MONTH_END) {
+            database.updateBalances();
+            return;
+        }
+        String type = TYPE_CODES[payload.get()];
+        String fname = getString(payload);
+        String lname = getString(payload);
+        int year = payload.getShort();
+        int month = payload.get();
+        int day = payload.get();
+        Date dob = new Date(year, month, day);
+        Profile profile = tag == OPEN || tag == BASE ? database.profiles().profile(fname, lname, dob)
+                : database.profiles().find(fname, lname, dob);
+        long cents = payload.getLong();
+        double amount = Money.toDollars(cents);
+        switch (tag) {
+            case BASE:
+                database.open(makeBase(type, profile, cents, payload.get(), payload.getInt()));
+                break;
+            case OPEN:
+                byte extra = payload.get();
+                database.open(makeAccount(type, profile, amount, extra));
+                break;
+            case CLOSE:
+                database.close(database.getAccountByProfileAndType(profile, type));
+                break;
+            case DEPOSIT:
+                database.deposit(profile, type, amount);
+                break;
+            case WITHDRAW:
+                database.withdraw(profile, type, amount);
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record: " + tag);
+        }
+    }
+
+    /**
+     * Recreates an account from an OPEN record.
+     *
+     * @param type    the account type code.
+     * @param profile the holder's profile.
+     * @param balance the opening balance in dollars.
+     * @param extra   the campus code for College Checking or the loyalty flag for Savings.
+     * @return the account.
+     */
+    static Account makeAccount(String type, Profile profile, double balance, byte extra) {
+        switch (type) {
+            case "C":
+                return new Checking(profile, balance);
+            case "CC":
+                return new CollegeChecking(profile, balance, extra);
+            case "S":
+                return new Savings(profile, balance, extra == 1);
+            default:
+                return new MoneyMarket(profile, balance);
+        }
+    }
+
+    /**
+     * Recreates an account from a BASE record.
+     *
+     * @param type        the account type code.
+     * @param profile     the holder's profile.
+     * @param cents       the balance in cents.
+     * @param extra       the campus code for College Checking or the loyalty flag for Savings and Money Market.
+     * @param withdrawals the withdrawal count for Money Market.
+     * @return the account.
+     */
+    private static Account makeBase(String type, Profile profile, long cents, byte extra, int withdrawals) {
+        Account account = makeAccount(type, profile, 0, extra);
+        if (account instanceof MoneyMarket) {
+            ((MoneyMarket) account).setLoyal(extra == 1);
+            ((MoneyMarket) account).setWithdrawals(withdrawals);
+        }
+        account.setBalance(cents);
+        return account;
+    }
+
+    /**
+     * Returns the byte an account's record carries besides its balance.
+     *
+     * @param account the account.
+     * @return the campus code for College Checking, the loyalty flag for Savings and Money Market, otherwise 0.
+     */
+    private static byte extra(Account account) {
+        if (account instanceof CollegeChecking) {
+            return (byte) ((CollegeChecking) account).getCampusCode();
+        }
+        if (account instanceof Savings) {
+            return (byte) (((Savings) account).isLoyal() ? 1 : 0);
+        }
+        return 0;
+    }
+
+    /**
+     * Reserves room for a record in the pending buffer, growing it if needed, and skips the header.
+     * The caller must hold {@link #lock}.
+     *
+     * @param payloadMax an upper bound on the payload size.
+     * @return the pending buffer, positioned at the start of the payload.
+     */
+    private ByteBuffer begin(int payloadMax) {
+        if (pending.remaining() < HEADER + payloadMax) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + HEADER + payloadMax));
+            pending.flip();
+            bigger.put(pending);
+            pending = bigger;
+        }
+        pending.position(pending.position() + HEADER);
+        return pending;
+    }
+
+    /**
+     * Fills in the header of the record that was just encoded. The caller must hold {@link #lock}.
+     *
+     * @param buf the pending buffer, positioned after the payload.
+     * @return the sequence number of the record.
+     */
+    private long end(ByteBuffer buf) {
+        seal(buf, recordStart, crc);
+        recordStart = buf.position();
+        return ++appended;
+    }
+
+    /**
+     * Fills in the length and checksum of a record that was just encoded.
+     *
+     * @param buf   the buffer, positioned after the payload.
+     * @param start the position of the record's header.
+     * @param check the checksum to compute with.
+     */
+    private static void seal(ByteBuffer buf, int start, CRC32 check) {
+        int length = buf.position() - start - HEADER;
+        check.reset();
+        check.update(buf.slice(start + HEADER, length));
+        buf.putInt(start, length);
+        buf.putInt(start + 4, (int) check.getValue());
+    }
+
+    /**
+     * Returns the encoded size of an account's type and profile.
+     *
+     * @param fname the encoded first name.
+     * @param lname the encoded last name.
+     * @return the size in bytes.
+     */
+    private static int profileSize(byte[] fname, byte[] lname) {
+        return 1 + 2 + fname.length + 2 + lname.length + 4;
+    }
+
+    /**
+     * Encodes an account's type code and its holder's profile.
+     *
+     * @param buf     the buffer to write to.
+     * @param account the account.
+     * @param fname   the encoded first name.
+     * @param lname   the encoded last name.
+     */
+    private static void putProfile(ByteBuffer buf, Account account, byte[] fname, byte[] lname) {
+        Date dob = account.getProfile().getDob();
+        buf.put(AccountColumns.typeCode(account.GetType()));
+        buf.putShort((short) fname.length).put(fname);
+        buf.putShort((short) lname.length).put(lname);
+        buf.putShort((short) dob.getyear()).put((byte) dob.getmonth()).put((byte) dob.getDay());
+    }
+
+    /**
+     * Decodes a length-prefixed UTF-8 string.
+     *
+     * @param buf the buffer to read from.
+     * @return the string.
+     */
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes a name as UTF-8.
+     *
+     * @param s the name.
+     * @return the bytes.
+     * @throws IllegalArgumentException if the name takes more than 65535 bytes, which its length field cannot hold.
+     */
+    private static byte[] utf8(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME) {
+            throw new IllegalArgumentException("Name too long for the journal: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks that the names of a profile fit in a record, so that a change can be refused before it is applied.
+     *
+     * @param profile the profile.
+     * @throws IllegalArgumentException if a name takes more than 65535 bytes.
+     */
+    static void checkNames(Profile profile) {
+        utf8(profile.getFname());
+        utf8(profile.getLname());
+    }
+}
@@ -0,0 +1,475 @@
+package com.example.rubankfx.core;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Headless entry point that runs a file of commands against an {@link AccountDatabase}, without starting
+ * the JavaFX toolkit. It only uses the database and the domain classes, so it runs on machines with no
+ * display, e.g. as {@code java -cp <classes> com.example.rubankfx.core.TransactionManagerBatch commands.txt}.
+ * <p>
+ * Each line of the command file is one command, its fields separated by spaces or tabs:
+ * <pre>
+ * O  type first last mm/dd/yyyy amount [campus code | 1 for loyal]   open an account
+ * C  type first last mm/dd/yyyy                                      close an account
+ * D  type first last mm/dd/yyyy amount                               deposit
+ * W  type first last mm/dd/yyyy amount                               withdraw
+ * P                                                                  print the accounts in sorted order
+ * PI                                                                 print the accounts with fees and interest
+ * UB                                                                 apply the monthly fees and interest
+ * Q                                                                  stop
+ * </pre>
+ * where type is C, CC, S or MM. Each command is validated and applied as by the matching button of the
+ * JavaFX application, and reports the same messages, one per line; like the Apply Interest button, UB reports
+ * nothing. A command with too few fields gets "Please enter all details", and an unknown command, which
+ * the application cannot be given, gets "Invalid command!". The commands are read through a large
+ * buffer and the output is encoded straight into one, so a run is bound by the database, not by I/O. When
+ * the file has been processed, the number of commands and the throughput are written to the standard error.
+ * <p>
+ * Options, before the command file:
+ * {@code --load <file>} first opens the accounts of a file in the {@code bankAccounts.txt} format;
+ * {@code --journal <file>} first replays the journal and then records every change in it, like the
+ * application does; {@code --out <file>} writes the output to a file instead of the standard output.
+ * A command file of {@code -} is read from the standard input.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public final class TransactionManagerBatch {
+
+    /** Size of the buffer the commands are read through. */
+    private static final int READ_BUFFER = 1 << 16;
+
+    /** Most fields of a command that are looked at. */
+    private static final int MAX_FIELDS = 7;
+
+    /** Database the commands are applied to. */
+    private final AccountDatabase database;
+
+    /** Where the messages and listings are written. */
+    private final Utf8Sink out;
+
+    /** Fields of the current command. */
+    private final String[] fields = new String[MAX_FIELDS];
+
+    /** Number of fields of the current command. */
+    private int count;
+
+    /** Number of commands processed. */
+    private long commands;
+
+    /** Number of commands that were rejected or could not be applied. */
+    private long rejected;
+
+    /**
+     * Creates a processor.
+     *
+     * @param database the database to apply the commands to.
+     * @param out      where to write the messages and listings.
+     */
+    TransactionManagerBatch(AccountDatabase database, OutputStream out) {
+        this.database = database;
+        this.out = new Utf8Sink(out);
+    }
+
+    /**
+     * Runs a command file from the command line.
+     *
+     * @param args the options and the command file.
+     */
+    public static void main(String[] args) {
+        Path load = null;
+        Path journalPath = null;
+        Path outPath = null;
+        String commandFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 < args.length && args[i].equals("--load")) {
+                load = Paths.get(args[++i]);
+            }
+            else if (i + 1 < args.length && args[i].equals("--journal")) {
+                journalPath = Paths.get(args[++i]);
+            }
+            else if (i + 1 < args.length && args[i].equals("--out")) {
+                outPath = Paths.get(args[++i]);
+            }
+            else if (commandFile == null && !args[i].startsWith("--")) {
+                commandFile = args[i];
+            }
+            else {
+                commandFile = null;
+                break;
+            }
+        }
+        if (commandFile == null) {
+            System.err.println("Usage: TransactionManagerBatch [--load accounts.txt] [--journal file] "
+                    + "[--out file] commands.txt|-");
+            System.exit(2);
+        }
+        AccountDatabase database = new AccountDatabase();
+        TransactionJournal journal = null;
+        int status = 0;
+        try (OutputStream out = outPath == null ? new FileOutputStream(FileDescriptor.out)
+                : Files.newOutputStream(outPath)) {
+            if (journalPath != null) {
+                TransactionJournal.replay(journalPath, database);
+                journal = new TransactionJournal(journalPath);
+                database.setJournal(journal);
+            }
+            TransactionManagerBatch batch = new TransactionManagerBatch(database, out);
+            if (load != null) {
+                ImportProgress done = batch.load(load);
+                System.err.println("Loaded " + load + ": " + done);
+            }
+            long started = System.nanoTime();
+            if (commandFile.equals("-")) {
+                batch.run(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), READ_BUFFER));
+            }
+            else {
+                try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                        Files.newInputStream(Paths.get(commandFile)), StandardCharsets.UTF_8), READ_BUFFER)) {
+                    batch.run(in);
+                }
+            }
+            System.err.println(batch.summary(System.nanoTime() - started));
+        } catch (IOException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            status = 1;
+        } catch (UncheckedIOException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            status = 1;
+        } finally {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close the journal: " + e.getMessage());
+                    status = 1;
+                }
+            }
+        }
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Opens the accounts of a file in the {@code bankAccounts.txt} format, writing a message for each
+     * line that is rejected.
+     *
+     * @param path the file to load.
+     * @return the outcome of the import.
+     * @throws IOException if the file cannot be read or the messages cannot be written.
+     */
+    ImportProgress load(Path path) throws IOException {
+        ImportProgress done;
+        try {
+            done = AccountFileParser.loadParallel(path, database, message -> {
+                try {
+                    println(message);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, progress -> { }, () -> false, Runtime.getRuntime().availableProcessors());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return done;
+    }
+
+    /**
+     * Processes commands until the end of the input or a Q command, then flushes the output.
+     *
+     * @param in the commands, one per line.
+     * @throws IOException if the commands cannot be read or the output cannot be written.
+     */
+    void run(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!split(line)) {
+                continue;
+            }
+            commands++;
+            if (fields[0].equals("Q")) {
+                break;
+            }
+            if (!execute()) {
+                rejected++;
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Describes a run.
+     *
+     * @param nanos the time the run took, in nanoseconds.
+     * @return the number of commands, how many were rejected, and the throughput.
+     */
+    String summary(long nanos) {
+        double seconds = Math.max(nanos, 1) / 1e9;
+        return String.format("Processed %,d commands (%,d rejected) in %.3f s, %,.0f commands/s",
+                commands, rejected, seconds, commands / seconds);
+    }
+
+    /**
+     * Splits a command into {@link #fields} at runs of spaces and tabs.
+     *
+     * @param line the command.
+     * @return false if the line is blank.
+     */
+    private boolean split(String line) {
+        count = 0;
+        int i = 0;
+        int n = line.length();
+        while (i < n) {
+            while (i < n && (line.charAt(i) == ' ' || line.charAt(i) == '\t')) {
+                i++;
+            }
+            int start = i;
+            while (i < n && line.charAt(i) != ' ' && line.charAt(i) != '\t') {
+                i++;
+            }
+            if (i > start) {
+                if (count == MAX_FIELDS) {
+                    count++;
+                    break;
+                }
+                fields[count++] = line.substring(start, i);
+            }
+        }
+        return count > 0;
+    }
+
+    /**
+     * Applies the current command.
+     *
+     * @return true if the command was applied.
+     * @throws IOException if the output cannot be written.
+     */
+    private boolean execute() throws IOException {
+        switch (fields[0]) {
+            case "O":
+                return open();
+            case "C":
+                return close();
+            case "D":
+            case "W":
+                return post(fields[0].equals("D"));
+            case "P":
+                return print(false);
+            case "PI":
+                return print(true);
+            case "UB":
+                database.updateBalancesParallel();
+                return true;
+            default:
+                println("Invalid command!");
+                return false;
+        }
+    }
+
+    /**
+     * Opens an account from an O command.
+     *
+     * @return true if the account was opened.
+     * @throws IOException if the output cannot be written.
+     */
+    private boolean open() throws IOException {
+        if (count < 6) {
+            println("Please enter all details");
+            return false;
+        }
+        String type = fields[1];
+        Profile profile = profile(true);
+        if (profile == null) {
+            return false;
+        }
+        double balance;
+        try {
+            balance = Double.parseDouble(fields[5]);
+        } catch (NumberFormatException e) {
+            println("Enter a valid number");
+            return false;
+        }
+        if (balance <= 0) {
+            println("Initial deposit must be greater than zero!");
+            return false;
+        }
+        Account account;
+        try {
+            switch (type) {
+                case "C":
+                    account = Checking.makeChecking(profile, balance);
+                    break;
+                case "CC":
+                    if (count < 7) {
+                        println("No campus code selected! Please select a valid code! ");
+                        return false;
+                    }
+                    int campus;
+                    try {
+                        campus = Integer.parseInt(fields[6]);
+                    } catch (NumberFormatException e) {
+                        println("Invalid campus code.");
+                        return false;
+                    }
+                    if (!profile.getDob().checkCollegeCheckingValidity()) {
+                        println(profile.getDob().getLastMessage());
+                        return false;
+                    }
+                    account = CollegeChecking.makeCollegeChecking(profile, balance, campus);
+                    break;
+                case "S":
+                    account = Savings.makeSavings(profile, balance, count > 6 && fields[6].equals("1"));
+                    break;
+                case "MM":
+                    if (balance < 2000) {
+                        println("Balance cannot be below 2000!");
+                        return false;
+                    }
+                    account = MoneyMarket.makeMoneyMarket(profile, balance);
+                    break;
+                default:
+                    println("Please select an account type!");
+                    return false;
+            }
+        } catch (IllegalArgumentException e) {
+            println(e.getMessage());
+            return false;
+        }
+        if (!database.open(account)) {
+            println("Account already exists!");
+            return false;
+        }
+        println("Account opened successfully!");
+        return true;
+    }
+
+    /**
+     * Closes an account from a C command.
+     *
+     * @return true if the account was closed.
+     * @throws IOException if the output cannot be written.
+     */
+    private boolean close() throws IOException {
+        if (count < 5) {
+            println("Please enter all details");
+            return false;
+        }
+        Profile profile = profile(false);
+        if (profile == null) {
+            return false;
+        }
+        Account account = database.getAccountByProfileAndType(profile, fields[1]);
+        if (account == null || !database.close(account)) {
+            println("Account does not Exist!");
+            return false;
+        }
+        println("Account Closed Successfully!");
+        return true;
+    }
+
+    /**
+     * Deposits or withdraws from a D or W command.
+     *
+     * @param deposit true for a deposit, false for a withdrawal.
+     * @return true if the account exists and the amount was posted.
+     * @throws IOException if the output cannot be written.
+     */
+    private boolean post(boolean deposit) throws IOException {
+        if (count < 6) {
+            println("Please enter all details");
+            return false;
+        }
+        double amount;
+        try {
+            amount = Double.parseDouble(fields[5]);
+        } catch (NumberFormatException e) {
+            println(deposit ? "Please enter a valid amount to deposit" : "Please enter a valid account to withdraw!");
+            return false;
+        }
+        Profile profile = profile(false);
+        if (profile == null) {
+            return false;
+        }
+        if (deposit) {
+            if (!database.deposit(profile, fields[1], amount)) {
+                println("Account does not exist!");
+                return false;
+            }
+            println("Deposit successful");
+            return true;
+        }
+        String message = database.withdraw(profile, fields[1], amount);
+        if (message == null) {
+            println("Account does not exist!");
+            return false;
+        }
+        println(message);
+        return true;
+    }
+
+    /**
+     * Writes every account in sorted order, with or without its fee and interest, from a P or PI command.
+     *
+     * @param fees true to include the fees and interest.
+     * @return true, since listing cannot fail.
+     * @throws IOException if the output cannot be written.
+     */
+    private boolean print(boolean fees) throws IOException {
+        if (database.sortedView().length == 0) {
+            println("Account Database is Empty! ");
+            return true;
+        }
+        if (fees) {
+            database.printInterestInfo(out);
+        }
+        else {
+            database.printAccounts(out);
+        }
+        return true;
+    }
+
+    /**
+     * Makes the profile of fields 2 to 4 of the current command, writing a message if the date of
+     * birth is not valid.
+     *
+     * @param opening whether an account is being opened for the profile, so it should be pooled; other
+     *                commands only look the profile up, see {@link ProfilePool#find}.
+     * @return the profile, or {@code null} if the date of birth is not valid.
+     * @throws IOException if the output cannot be written.
+     */
+    private Profile profile(boolean opening) throws IOException {
+        Date dob = Date.makeDate(fields[4]);
+        if (dob == null) {
+            println("Please enter a valid date! ");
+            return null;
+        }
+        if (!dob.isValid()) {
+            String message = dob.getLastMessage();
+            println(message != null ? message : "Date of birth is not a valid! ");
+            return null;
+        }
+        return opening ? database.profiles().profile(fields[2], fields[3], dob)
+                : database.profiles().find(fields[2], fields[3], dob);
+    }
+
+    /**
+     * Writes a line of output.
+     *
+     * @param message the line.
+     * @throws IOException if the output cannot be written.
+     */
+    private void println(String message) throws IOException {
+        out.append(message).append('\n');
+    }
+}
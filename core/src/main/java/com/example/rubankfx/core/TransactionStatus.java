@@ -0,0 +1,17 @@
+package com.example.rubankfx.core;
+
+/**
+ * Outcome of one {@link Transaction} applied through {@link AccountDatabase#applyBatch}.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+public enum TransactionStatus {
+    /** The posting was applied. */
+    OK,
+    /** No account matches the profile and account type. */
+    ACCOUNT_NOT_FOUND,
+    /** The withdrawal was refused because the balance is too low. */
+    INSUFFICIENT_FUNDS,
+    /** The amount is not a positive number, or the account type is unknown. */
+    INVALID
+}
@@ -0,0 +1,143 @@
+package com.example.rubankfx.core;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Appendable that encodes text as UTF-8 straight into a reusable byte buffer and writes the buffer to an
+ * output stream whenever it fills up, so rendering a large listing needs neither Strings nor a Writer.
+ * A surrogate that is not part of a pair within one call is written as '?', as {@code String.getBytes} does.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+final class Utf8Sink implements Appendable, Flushable {
+
+    /** Size of the byte buffer. */
+    private static final int BUFFER = 1 << 16;
+
+    /** Stream the bytes go to. */
+    private final OutputStream out;
+
+    /** Encoded bytes not yet written. */
+    private final byte[] buf = new byte[BUFFER];
+
+    /** Number of bytes in {@link #buf}. */
+    private int pos;
+
+    /**
+     * Creates a sink writing to a stream.
+     *
+     * @param out the stream to write to.
+     */
+    Utf8Sink(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Encodes a character sequence.
+     *
+     * @param csq the characters, or {@code null} to append "null".
+     * @return this sink.
+     * @throws IOException if the stream cannot be written.
+     */
+    @Override
+    public Utf8Sink append(CharSequence csq) throws IOException {
+        CharSequence text = csq == null ? "null" : csq;
+        return append(text, 0, text.length());
+    }
+
+    /**
+     * Encodes part of a character sequence.
+     *
+     * @param csq   the characters, or {@code null} to append part of "null".
+     * @param start the index of the first character.
+     * @param end   the index after the last character.
+     * @return this sink.
+     * @throws IOException if the stream cannot be written.
+     */
+    @Override
+    public Utf8Sink append(CharSequence csq, int start, int end) throws IOException {
+        CharSequence text = csq == null ? "null" : csq;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (pos == BUFFER) {
+                    drain();
+                }
+                buf[pos++] = (byte) c;
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                encode(Character.toCodePoint(c, text.charAt(++i)));
+            }
+            else {
+                encode(Character.isSurrogate(c) ? '?' : c);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Encodes a single character.
+     *
+     * @param c the character.
+     * @return this sink.
+     * @throws IOException if the stream cannot be written.
+     */
+    @Override
+    public Utf8Sink append(char c) throws IOException {
+        encode(Character.isSurrogate(c) ? '?' : c);
+        return this;
+    }
+
+    /**
+     * Writes the buffered bytes and flushes the stream.
+     *
+     * @throws IOException if the stream cannot be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Encodes one code point.
+     *
+     * @param cp the code point.
+     * @throws IOException if the stream cannot be written.
+     */
+    private void encode(int cp) throws IOException {
+        if (pos > BUFFER - 4) {
+            drain();
+        }
+        if (cp < 0x80) {
+            buf[pos++] = (byte) cp;
+        }
+        else if (cp < 0x800) {
+            buf[pos++] = (byte) (0xC0 | cp >> 6);
+            buf[pos++] = (byte) (0x80 | cp & 0x3F);
+        }
+        else if (cp < 0x10000) {
+            buf[pos++] = (byte) (0xE0 | cp >> 12);
+            buf[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+            buf[pos++] = (byte) (0x80 | cp & 0x3F);
+        }
+        else {
+            buf[pos++] = (byte) (0xF0 | cp >> 18);
+            buf[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+            buf[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+            buf[pos++] = (byte) (0x80 | cp & 0x3F);
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the stream.
+     *
+     * @throws IOException if the stream cannot be written.
+     */
+    private void drain() throws IOException {
+        out.write(buf, 0, pos);
+        pos = 0;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.rubankfx.core;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Month-end engine that applies fees and interest to a block of rows of the same account type
+ * at a time, using the incubating Vector API. Each kernel follows the matching scalar helper
+ * ({@code feeOn}, {@code interestOn}) step for step, so the balances come out identical to
+ * {@link AccountColumns#updateBalances()}; rows that do not fill a whole vector use the scalar helpers.
+ * <p>
+ * This class must only be loaded when the {@code jdk.incubator.vector} module is present: its static
+ * fields refer to vector species, so merely calling a method of it without the module fails with
+ * {@code NoClassDefFoundError}. {@link AccountDatabase#setVectorMonthEnd} checks for the module first.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+final class VectorMonthEnd {
+
+    /** Species for balances in cents. */
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    /** Species for balances converted to doubles, with as many lanes as {@link #LONGS}. */
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Species for withdrawal counts, of the same shape as {@link #LONGS} and so with twice as many lanes.
+     * A species with as many lanes as {@code LONGS} would need a shape half as wide, which does not exist
+     * when {@code LONGS} is already the narrowest.
+     */
+    private static final VectorSpecies<Integer> INTS = LONGS.withLanes(int.class);
+
+    /** The lanes of {@link #INTS} that match a lane of {@link #LONGS}, the first half. */
+    private static final VectorMask<Integer> LONG_LANES = INTS.indexInRange(0, LONGS.length());
+
+    /** Adding and subtracting this rounds a non-negative double below it to an integer, ties to even. */
+    private static final double TWO_52 = 0x1.0p52;
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private VectorMonthEnd() {
+    }
+
+    /**
+     * Applies the monthly fee and interest to every row of the store, one run of same-typed rows at a time.
+     * The database keeps its rows grouped by type, so there is one run per type.
+     *
+     * @param columns the store to update.
+     */
+    static void updateBalances(AccountColumns columns) {
+        int size = columns.size();
+        int from = 0;
+        while (from < size) {
+            byte type = columns.type[from];
+            int to = from + 1;
+            while (to < size && columns.type[to] == type) {
+                to++;
+            }
+            switch (type) {
+                case AccountColumns.CHECKING:
+                    checking(columns.balance, from, to);
+                    break;
+                case AccountColumns.COLLEGE_CHECKING:
+                    collegeChecking(columns.balance, from, to);
+                    break;
+                case AccountColumns.SAVINGS:
+                    savings(columns.balance, columns.loyal, from, to);
+                    break;
+                default:
+                    moneyMarket(columns.balance, columns.loyal, columns.withdrawals, from, to);
+                    break;
+            }
+            from = to;
+        }
+    }
+
+    /**
+     * Kernel for Checking rows.
+     *
+     * @param balance the balance column.
+     * @param from    the first row of the run.
+     * @param to      the row after the last row of the run.
+     */
+    private static void checking(long[] balance, int from, int to) {
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            LongVector b = LongVector.fromArray(LONGS, balance, i);
+            LongVector interest = percentOf(b, DoubleVector.broadcast(DOUBLES, Checking.MONTHLY_RATE));
+            LongVector fees = LongVector.broadcast(LONGS, Checking.FEE)
+                    .blend(0L, b.compare(VectorOperators.GE, Checking.FEE_WAIVER_BALANCE));
+            b.sub(fees.add(interest)).intoArray(balance, i);
+        }
+        for (; i < to; i++) {
+            long b = balance[i];
+            balance[i] = b - (Checking.feeOn(b) + Checking.interestOn(b));
+        }
+    }
+
+    /**
+     * Kernel for College Checking rows.
+     *
+     * @param balance the balance column.
+     * @param from    the first row of the run.
+     * @param to      the row after the last row of the run.
+     */
+    private static void collegeChecking(long[] balance, int from, int to) {
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            LongVector b = LongVector.fromArray(LONGS, balance, i);
+            LongVector interest = percentOf(b, DoubleVector.broadcast(DOUBLES, CollegeChecking.MONTHLY_RATE));
+            b.sub(interest.add(CollegeChecking.FEE)).intoArray(balance, i);
+        }
+        for (; i < to; i++) {
+            long b = balance[i];
+            balance[i] = b - (CollegeChecking.feeOn(b) + CollegeChecking.interestOn(b));
+        }
+    }
+
+    /**
+     * Kernel for Savings rows.
+     *
+     * @param balance the balance column.
+     * @param loyal   the loyalty column.
+     * @param from    the first row of the run.
+     * @param to      the row after the last row of the run.
+     */
+    private static void savings(long[] balance, boolean[] loyal, int from, int to) {
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            LongVector b = LongVector.fromArray(LONGS, balance, i);
+            VectorMask<Double> isLoyal = VectorMask.fromArray(DOUBLES, loyal, i);
+            DoubleVector rate = DoubleVector.broadcast(DOUBLES, Savings.rateFor(false))
+                    .blend(Savings.rateFor(true), isLoyal);
+            LongVector interest = percentOf(b, rate);
+            LongVector fees = LongVector.broadcast(LONGS, Savings.FEE)
+                    .blend(0L, b.compare(VectorOperators.GE, Savings.MIN_BALANCE_REQUIRED));
+            b.sub(fees.add(interest)).intoArray(balance, i);
+        }
+        for (; i < to; i++) {
+            long b = balance[i];
+            balance[i] = b - (Savings.feeOn(b) + Savings.interestOn(b, loyal[i]));
+        }
+    }
+
+    /**
+     * Kernel for Money Market rows, which also updates the loyalty column the way
+     * {@link MoneyMarket#monthlyFee()} does before the interest is computed.
+     *
+     * @param balance     the balance column.
+     * @param loyal       the loyalty column.
+     * @param withdrawals the withdrawal count column.
+     * @param from        the first row of the run.
+     * @param to          the row after the last row of the run.
+     */
+    private static void moneyMarket(long[] balance, boolean[] loyal, int[] withdrawals, int from, int to) {
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            LongVector b = LongVector.fromArray(LONGS, balance, i);
+            VectorMask<Long> belowMin = b.compare(VectorOperators.LT, MoneyMarket.MIN_BALANCE);
+            LongVector counts = (LongVector) IntVector.fromArray(INTS, withdrawals, i, LONG_LANES)
+                    .convert(VectorOperators.I2L, 0);
+            VectorMask<Long> overLimit = counts.compare(VectorOperators.GT, MoneyMarket.MAX_WITHDRAWALS);
+            VectorMask<Long> wasLoyal = VectorMask.fromArray(LONGS, loyal, i);
+            VectorMask<Long> isLoyal = overLimit.not().or(wasLoyal).andNot(belowMin);
+            isLoyal.intoArray(loyal, i);
+            LongVector fees = LongVector.zero(LONGS).blend(MoneyMarket.WITHDRAWAL_FEE, belowMin.or(overLimit));
+            DoubleVector rate = DoubleVector.broadcast(DOUBLES, MoneyMarket.rateFor(false))
+                    .blend(MoneyMarket.rateFor(true), isLoyal.cast(DOUBLES));
+            LongVector interest = percentOf(b, rate);
+            b.sub(fees.add(interest)).intoArray(balance, i);
+        }
+        for (; i < to; i++) {
+            long b = balance[i];
+            long fee = MoneyMarket.feeOn(b, withdrawals[i]);
+            loyal[i] = MoneyMarket.loyalAfterFee(b, withdrawals[i], loyal[i]);
+            balance[i] = b - (fee + MoneyMarket.interestOn(b, loyal[i]));
+        }
+    }
+
+    /**
+     * Lane-wise {@link Money#percentOf}: multiplies each balance by its rate and rounds to the
+     * nearest cent, ties to even, exactly like {@link Math#rint}.
+     *
+     * @param cents the balances in cents.
+     * @param rate  the rate of each lane.
+     * @return the rounded results in cents.
+     */
+    private static LongVector percentOf(LongVector cents, DoubleVector rate) {
+        DoubleVector x = ((DoubleVector) cents.convert(VectorOperators.L2D, 0)).mul(rate);
+        DoubleVector a = x.abs();
+        DoubleVector r = a.add(TWO_52).sub(TWO_52).blend(a, a.compare(VectorOperators.GE, TWO_52));
+        r = r.blend(r.neg(), x.compare(VectorOperators.LT, 0.0));
+        return (LongVector) r.convert(VectorOperators.D2L, 0);
+    }
+}
@@ -0,0 +1,5 @@
+module com.example.rubankfx.core {
+    requires static jdk.incubator.vector;
+
+    exports com.example.rubankfx.core;
+}
@@ -0,0 +1,244 @@
+package com.example.rubankfx.core;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Compares {@link AccountFileParser} with a baseline loader that splits each line on commas and parses
+ * its fields the way the application did before the byte parser: the same accounts must be opened and
+ * the same messages reported, in the same order.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+class AccountFileParserTest {
+
+    /** Temporary directory for the account files. */
+    @TempDir
+    Path dir;
+
+    /**
+     * Fixes today, so the age checks do not depend on when the test runs.
+     */
+    @BeforeAll
+    static void fixClock() {
+        DateValidator.setClock(Clock.fixed(Instant.parse("2024-03-15T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    /**
+     * Puts the shared validator back on the system clock.
+     */
+    @AfterAll
+    static void restoreClock() {
+        DateValidator.setClock(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Parses one line the way the application did with {@code String.split}, except that a College
+     * Checking or Savings line without its last field is rejected after its message, where the
+     * application failed with an exception.
+     *
+     * @param line     the line, without its line break.
+     * @param database the database the account will be opened in, for the duplicate message.
+     * @param messages the receiver of the messages.
+     * @return the account of the line, or {@code null} if the line is rejected.
+     */
+    private static Account baseline(String line, AccountDatabase database, List<String> messages) {
+        String[] tokens = line.split(",");
+        if (tokens.length < 5) {
+            messages.add("Incomplete information to add the account");
+            return null;
+        }
+        Date dob = Date.makeDate(tokens[3]);
+        if (dob == null) {
+            messages.add("Date of birth is not a valid! ");
+            return null;
+        }
+        if (!dob.isValid()) {
+            return null;
+        }
+        double balance;
+        try {
+            balance = Double.parseDouble(tokens[4]);
+        } catch (NumberFormatException e) {
+            messages.add("Invalid number! Please enter a valid number!");
+            return null;
+        }
+        Profile profile = new Profile(tokens[1], tokens[2], dob);
+        Account account;
+        switch (tokens[0]) {
+            case "C":
+                account = new Checking(profile, balance);
+                if (database.contains(account)) {
+                    messages.add("Account already exists!");
+                }
+                return account;
+            case "CC":
+                if (tokens.length < 6) {
+                    messages.add("Not enough data to open an account! ");
+                    return null;
+                }
+                int campus;
+                try {
+                    campus = Integer.parseInt(tokens[5]);
+                } catch (NumberFormatException e) {
+                    messages.add("Not a valid campus code, it must be an integer");
+                    return null;
+                }
+                if (campus < 0 || campus > 2) {
+                    messages.add("Not a valid campus code, must be between 0 and 2");
+                }
+                account = new CollegeChecking(profile, balance, campus);
+                if (database.contains(account)) {
+                    messages.add("Account already exists!");
+                }
+                return account;
+            case "S":
+                if (tokens.length < 6) {
+                    messages.add("Not enough data to open an account!");
+                    return null;
+                }
+                return new Savings(profile, balance, tokens[5].equals("1"));
+            case "MM":
+                return new MoneyMarket(profile, balance);
+            default:
+                messages.add("Account cannot be created! Wrong Account type");
+                return null;
+        }
+    }
+
+    /**
+     * Writes a file of random lines mixing valid accounts with every kind of malformed field,
+     * with both line break styles and no line break after the last line.
+     *
+     * @param lines the number of lines.
+     * @return the file.
+     * @throws IOException if the file cannot be written.
+     */
+    private Path randomFile(int lines) throws IOException {
+        Random random = new Random(5);
+        String[] types = {"C", "CC", "S", "MM", "X", "c", ""};
+        String[] names = {"John", "jOhn", "Jane", "Ünïcode", "", "Al"};
+        String[] dates = {"2/19/2000", "02/19/2000", "13/1/2000", "2/30/2000", "1/1/2020", "1/1/2030", "x/1/2000",
+                "1/2", "+1/2/1990", "1/2/1990/5", "1//1990", "10/1/1995", "3/16/2008", "3/15/2000"};
+        String[] balances = {"599.99", "1000", "1.005", "-5", "1e3", ".5", "5.", ".", "abc", " 12 ", "0.1",
+                "123456789012345678", "12.345"};
+        String[] extras = {"0", "1", "2", "3", "x", "+1", "-1", "", "01"};
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            text.append(types[random.nextInt(types.length)]).append(',')
+                    .append(names[random.nextInt(names.length)]).append(',')
+                    .append(names[random.nextInt(names.length)]);
+            int fields = random.nextInt(10);
+            if (fields > 0) {
+                text.append(',').append(dates[random.nextInt(dates.length)]);
+            }
+            if (fields > 1) {
+                text.append(',').append(balances[random.nextInt(balances.length)]);
+            }
+            if (fields > 2) {
+                text.append(',').append(extras[random.nextInt(extras.length)]);
+            }
+            if (fields > 7) {
+                text.append(",,");
+            }
+            if (fields > 8) {
+                text.append(",z");
+            }
+            text.append(random.nextInt(5) == 0 ? "\r\n" : "\n");
+        }
+        text.append("MM,Last,Line,1/1/1990,5");
+        Path file = dir.resolve("accounts.txt");
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Loads a file with the baseline loader.
+     *
+     * @param file     the file.
+     * @param database the database to open the accounts in.
+     * @param messages the receiver of the messages.
+     * @throws IOException if the file cannot be read.
+     */
+    private static void loadBaseline(Path file, AccountDatabase database, List<String> messages) throws IOException {
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            Account account = baseline(line, database, messages);
+            if (account != null) {
+                database.open(account);
+            }
+        }
+    }
+
+    /**
+     * The byte parser opens the same accounts and reports the same messages as the baseline.
+     *
+     * @throws IOException if the file cannot be written or read.
+     */
+    @Test
+    void matchesBaseline() throws IOException {
+        Path file = randomFile(20_000);
+        AccountDatabase expected = new AccountDatabase();
+        List<String> expectedMessages = new ArrayList<>();
+        loadBaseline(file, expected, expectedMessages);
+
+        AccountDatabase actual = new AccountDatabase();
+        List<String> actualMessages = new ArrayList<>();
+        AccountFileParser.load(file, actual, actualMessages::add);
+
+        assertEquals(expectedMessages, actualMessages);
+        assertEquals(Arrays.toString(expected.getAllAccounts()), Arrays.toString(actual.getAllAccounts()));
+    }
+
+    /**
+     * The parallel loader opens the same accounts and reports the same messages as the baseline.
+     *
+     * @throws IOException if the file cannot be written or read.
+     */
+    @Test
+    void parallelMatchesBaseline() throws IOException {
+        Path file = randomFile(20_000);
+        AccountDatabase expected = new AccountDatabase();
+        List<String> expectedMessages = new ArrayList<>();
+        loadBaseline(file, expected, expectedMessages);
+
+        AccountDatabase actual = new AccountDatabase();
+        List<String> actualMessages = new ArrayList<>();
+        AccountFileParser.loadParallel(file, actual, actualMessages::add, progress -> { }, () -> false, 3);
+
+        assertEquals(expectedMessages, actualMessages);
+        assertEquals(Arrays.toString(expected.getAllAccounts()), Arrays.toString(actual.getAllAccounts()));
+    }
+
+    /**
+     * The accounts of one holder share one pooled profile.
+     *
+     * @throws IOException if the file cannot be written or read.
+     */
+    @Test
+    void holderAccountsShareProfile() throws IOException {
+        Path file = dir.resolve("holder.txt");
+        Files.write(file, "C,John,Doe,2/19/2000,100\nS,John,Doe,2/19/2000,100,1\n".getBytes(StandardCharsets.UTF_8));
+        AccountDatabase database = new AccountDatabase();
+        AccountFileParser.load(file, database, message -> { });
+        Account[] accounts = database.getAllAccounts();
+        assertEquals(2, accounts.length);
+        assertSame(accounts[0].getProfile(), accounts[1].getProfile());
+    }
+}
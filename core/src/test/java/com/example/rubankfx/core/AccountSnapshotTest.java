@@ -0,0 +1,183 @@
+package com.example.rubankfx.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips through {@link AccountSnapshot}: a loaded snapshot must hold the accounts that were saved, on
+ * both the sorted fast path and the path that opens each account, and a damaged file must be refused.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+class AccountSnapshotTest {
+
+    /** Temporary directory for the snapshot files. */
+    @TempDir
+    Path dir;
+
+    /** Offset of the flags byte, after the magic number and the version. */
+    private static final int FLAGS = 4 + 2;
+
+    /**
+     * Opens random accounts of every type in a new database, with names shared between holders so the
+     * name dictionary is exercised.
+     *
+     * @param count the number of accounts to try to open; duplicates are skipped.
+     * @return the database.
+     */
+    private static AccountDatabase database(int count) {
+        Random random = new Random(13);
+        AccountDatabase database = new AccountDatabase();
+        for (int i = 0; i < count; i++) {
+            Profile profile = new Profile("First" + random.nextInt(300), "Last" + random.nextInt(40),
+                    new Date(1940 + random.nextInt(60), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            double dollars = Money.toDollars(random.nextInt(1_000_000));
+            switch (random.nextInt(4)) {
+                case 0:
+                    database.open(new Checking(profile, dollars));
+                    break;
+                case 1:
+                    database.open(new CollegeChecking(profile, dollars, random.nextInt(3)));
+                    break;
+                case 2:
+                    database.open(new Savings(profile, dollars, random.nextBoolean()));
+                    break;
+                default:
+                    MoneyMarket account = new MoneyMarket(profile, dollars);
+                    account.setWithdrawals(random.nextInt(6));
+                    database.open(account);
+                    break;
+            }
+        }
+        return database;
+    }
+
+    /**
+     * Renders every account of a database, in sorted order.
+     *
+     * @param database the database.
+     * @return one line per account, with its balance and flags.
+     */
+    private static List<String> rows(AccountDatabase database) {
+        List<String> rows = new ArrayList<>();
+        for (Account account : database.sortedView()) {
+            rows.add(account.toString());
+        }
+        return rows;
+    }
+
+    /**
+     * Replaces the checksum at the end of a snapshot with the checksum of its current content.
+     *
+     * @param bytes the snapshot.
+     */
+    private static void reseal(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        ByteBuffer.wrap(bytes).putInt(bytes.length - 4, (int) crc.getValue());
+    }
+
+    /**
+     * A saved database loads back with the same accounts through the sorted fast path, and the loaded
+     * database finds its accounts and refuses duplicates like one filled account by account.
+     *
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    @Test
+    void sortedSnapshotRoundTrips() throws IOException {
+        Path path = dir.resolve("accounts.snapshot");
+        AccountDatabase database = database(5_000);
+        database.saveSnapshot(path);
+        assertEquals(1, Files.readAllBytes(path)[FLAGS]);
+
+        AccountDatabase loaded = AccountDatabase.loadSnapshot(path);
+        assertEquals(rows(database), rows(loaded));
+        Account first = loaded.sortedView()[0];
+        assertTrue(loaded.contains(first));
+        assertFalse(loaded.open(first));
+    }
+
+    /**
+     * A snapshot whose records are not flagged as sorted is loaded by opening each account, with the
+     * same result.
+     *
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    @Test
+    void unsortedSnapshotOpensEachAccount() throws IOException {
+        Path path = dir.resolve("unsorted.snapshot");
+        AccountDatabase database = database(2_000);
+        database.saveSnapshot(path);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[FLAGS] = 0;
+        reseal(bytes);
+        Files.write(path, bytes);
+
+        assertEquals(rows(database), rows(AccountDatabase.loadSnapshot(path)));
+    }
+
+    /**
+     * An empty database round trips.
+     *
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    @Test
+    void emptySnapshotRoundTrips() throws IOException {
+        Path path = dir.resolve("empty.snapshot");
+        new AccountDatabase().saveSnapshot(path);
+        assertEquals(0, AccountDatabase.loadSnapshot(path).sortedView().length);
+    }
+
+    /**
+     * A snapshot with a changed byte, a missing tail or an unknown version is refused.
+     *
+     * @throws IOException if the snapshot cannot be written.
+     */
+    @Test
+    void damagedSnapshotIsRefused() throws IOException {
+        Path path = dir.resolve("damaged.snapshot");
+        database(500).saveSnapshot(path);
+        byte[] good = Files.readAllBytes(path);
+
+        byte[] flipped = good.clone();
+        flipped[flipped.length / 2] ^= 1;
+        Files.write(path, flipped);
+        assertThrows(IOException.class, () -> AccountDatabase.loadSnapshot(path));
+
+        Files.write(path, Arrays.copyOf(good, good.length - 1));
+        assertThrows(IOException.class, () -> AccountDatabase.loadSnapshot(path));
+
+        byte[] version = good.clone();
+        version[FLAGS - 1]++;
+        reseal(version);
+        Files.write(path, version);
+        assertThrows(IOException.class, () -> AccountDatabase.loadSnapshot(path));
+    }
+
+    /**
+     * A date of birth that does not fit the packed form is refused before anything is written.
+     */
+    @Test
+    void outOfRangeDateIsRefused() {
+        Path path = dir.resolve("dates.snapshot");
+        AccountDatabase database = new AccountDatabase();
+        database.open(new Checking(new Profile("Zed", "Zane", new Date(2000, 1, 99)), 10));
+        assertThrows(IllegalArgumentException.class, () -> database.saveSnapshot(path));
+        assertFalse(Files.exists(path));
+    }
+}
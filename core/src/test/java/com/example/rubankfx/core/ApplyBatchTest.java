@@ -0,0 +1,142 @@
+package com.example.rubankfx.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the statuses {@link AccountDatabase#applyBatch} returns: one per transaction, at its position in the
+ * batch, with the postings to each account applied in batch order however the accounts are interleaved.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+class ApplyBatchTest {
+
+    /** Holder of a Checking account of $100. */
+    private static final Profile ALICE = new Profile("Alice", "Archer", new Date(1990, 1, 15));
+
+    /** Holder of a Savings account of $1000. */
+    private static final Profile BOB = new Profile("Bob", "Baker", new Date(1985, 6, 30));
+
+    /** Holder of no account. */
+    private static final Profile DAVE = new Profile("Dave", "Dunn", new Date(1970, 12, 1));
+
+    /**
+     * Every status in one batch that interleaves two accounts: a withdrawal refused for funds goes
+     * through once a later deposit covers it, and invalid or unmatched postings change nothing.
+     */
+    @Test
+    void statusesFollowTheBatch() {
+        AccountDatabase database = new AccountDatabase();
+        database.open(new Checking(ALICE, 100));
+        database.open(new Savings(BOB, 1000, false));
+        List<Transaction> batch = Arrays.asList(
+                Transaction.withdraw(ALICE, "C", 150),
+                Transaction.deposit(BOB, "S", 10),
+                Transaction.deposit(ALICE, "C", 100),
+                Transaction.withdraw(ALICE, "C", 150),
+                Transaction.deposit(DAVE, "C", 5),
+                Transaction.deposit(ALICE, "CC", 5),
+                Transaction.deposit(ALICE, "S", 5),
+                Transaction.withdraw(BOB, "S", 0),
+                Transaction.deposit(BOB, "S", -1),
+                Transaction.deposit(BOB, "X", 5),
+                Transaction.withdraw(ALICE, "C", 50),
+                Transaction.withdraw(ALICE, "C", 0.01));
+        TransactionStatus[] expected = {
+                TransactionStatus.INSUFFICIENT_FUNDS,
+                TransactionStatus.OK,
+                TransactionStatus.OK,
+                TransactionStatus.OK,
+                TransactionStatus.ACCOUNT_NOT_FOUND,
+                TransactionStatus.ACCOUNT_NOT_FOUND,
+                TransactionStatus.ACCOUNT_NOT_FOUND,
+                TransactionStatus.INVALID,
+                TransactionStatus.INVALID,
+                TransactionStatus.INVALID,
+                TransactionStatus.OK,
+                TransactionStatus.INSUFFICIENT_FUNDS};
+        assertArrayEquals(expected, database.applyBatch(batch));
+        assertEquals(0.0, database.getAccountByProfileAndType(ALICE, "C").getbalance());
+        assertEquals(1010.0, database.getAccountByProfileAndType(BOB, "S").getbalance());
+    }
+
+    /**
+     * An empty batch gives no statuses.
+     */
+    @Test
+    void emptyBatchGivesNoStatuses() {
+        assertEquals(0, new AccountDatabase().applyBatch(new ArrayList<>()).length);
+    }
+
+    /**
+     * A random batch gives the statuses and balances of applying its transactions one at a time with
+     * {@link AccountDatabase#deposit(Profile, String, double)} and {@link AccountDatabase#withdraw(Profile, String, double)}.
+     */
+    @Test
+    void batchMatchesOneAtATime() {
+        Random random = new Random(11);
+        Profile[] holders = new Profile[40];
+        String[] types = {"C", "CC", "S", "MM", "X"};
+        AccountDatabase batched = new AccountDatabase();
+        AccountDatabase single = new AccountDatabase();
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = new Profile("First" + i, "Last" + i % 7, new Date(1960 + i, 1 + i % 12, 1 + i % 28));
+            if (i % 5 == 0) {
+                continue;
+            }
+            for (AccountDatabase database : new AccountDatabase[] {batched, single}) {
+                switch (i % 4) {
+                    case 0:
+                        database.open(new Checking(holders[i], 50));
+                        break;
+                    case 1:
+                        database.open(new CollegeChecking(holders[i], 50, 0));
+                        break;
+                    case 2:
+                        database.open(new Savings(holders[i], 500, true));
+                        break;
+                    default:
+                        database.open(new MoneyMarket(holders[i], 2500));
+                        break;
+                }
+            }
+        }
+        List<Transaction> batch = new ArrayList<>();
+        TransactionStatus[] expected = new TransactionStatus[5_000];
+        for (int i = 0; i < expected.length; i++) {
+            Profile holder = holders[random.nextInt(holders.length)];
+            String type = types[random.nextInt(types.length)];
+            double amount = Money.toDollars(random.nextInt(20_000) - 1_000);
+            boolean deposit = random.nextBoolean();
+            batch.add(deposit ? Transaction.deposit(holder, type, amount) : Transaction.withdraw(holder, type, amount));
+            Account account = single.getAccountByProfileAndType(holder, type);
+            if (Money.toCents(amount) <= 0 || type.equals("X")) {
+                expected[i] = TransactionStatus.INVALID;
+            }
+            else if (account == null) {
+                expected[i] = TransactionStatus.ACCOUNT_NOT_FOUND;
+            }
+            else if (!deposit && account.getbalance() < amount) {
+                expected[i] = TransactionStatus.INSUFFICIENT_FUNDS;
+            }
+            else {
+                expected[i] = TransactionStatus.OK;
+                if (deposit) {
+                    single.deposit(holder, type, amount);
+                }
+                else {
+                    single.withdraw(holder, type, amount);
+                }
+            }
+        }
+        assertArrayEquals(expected, batched.applyBatch(batch));
+        assertEquals(Arrays.asList(single.getAllAccounts()).toString(), Arrays.asList(batched.getAllAccounts()).toString());
+    }
+}
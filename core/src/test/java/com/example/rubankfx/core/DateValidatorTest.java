@@ -0,0 +1,118 @@
+package com.example.rubankfx.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the age and date rules of {@link DateValidator} against a fixed today, 15 March 2024,
+ * and that {@link Date} follows the validator's clock.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+class DateValidatorTest {
+
+    /** Noon on 15 March 2024, UTC. */
+    private static final Clock TODAY = Clock.fixed(Instant.parse("2024-03-15T12:00:00Z"), ZoneOffset.UTC);
+
+    /** Validator for {@link #TODAY}. */
+    private final DateValidator validator = DateValidator.of(TODAY);
+
+    /**
+     * Puts the shared validator back on the system clock.
+     */
+    @AfterEach
+    void restoreClock() {
+        DateValidator.setClock(Clock.systemDefaultZone());
+    }
+
+    /**
+     * A holder turns 16 on their birthday, not the day after.
+     */
+    @Test
+    void sixteenOnBirthday() {
+        assertTrue(validator.isValid(new Date(2008, 3, 15)));
+        assertNull(validator.validityMessage(new Date(2008, 3, 15)));
+        assertFalse(validator.isValid(new Date(2008, 3, 16)));
+        assertEquals("Age cannot be less than 16!", validator.validityMessage(new Date(2008, 3, 16)));
+    }
+
+    /**
+     * College Checking is open to holders from 16 up to, but not including, 24.
+     */
+    @Test
+    void collegeCheckingAgeRange() {
+        assertTrue(validator.isCollegeCheckingAge(new Date(2008, 3, 15)));
+        assertTrue(validator.isCollegeCheckingAge(new Date(2000, 3, 16)));
+        assertNull(validator.collegeCheckingMessage(new Date(2000, 3, 16)));
+        assertFalse(validator.isCollegeCheckingAge(new Date(2000, 3, 15)));
+        assertEquals("Age cannot be more than 24 for College Checking",
+                validator.collegeCheckingMessage(new Date(2000, 3, 15)));
+        assertEquals("Age cannot be less than 16", validator.collegeCheckingMessage(new Date(2010, 1, 1)));
+    }
+
+    /**
+     * Today and later dates are rejected with their own message.
+     */
+    @Test
+    void currentAndFutureDatesAreRejected() {
+        assertFalse(validator.isValid(new Date(2024, 3, 15)));
+        assertEquals("Date cannot be the current or Future Date", validator.validityMessage(new Date(2024, 3, 15)));
+        assertEquals("Date cannot be the current or Future Date", validator.validityMessage(new Date(2030, 1, 1)));
+    }
+
+    /**
+     * Dates that do not exist are rejected without a message; 29 February only exists in leap years.
+     */
+    @Test
+    void unrealDatesAreRejected() {
+        assertFalse(validator.isValid(new Date(2001, 2, 29)));
+        assertNull(validator.validityMessage(new Date(2001, 2, 29)));
+        assertFalse(validator.isValid(new Date(1990, 4, 31)));
+        assertTrue(validator.isValid(new Date(2000, 2, 29)));
+    }
+
+    /**
+     * Asking twice gives the same answer once the result is memoized.
+     */
+    @Test
+    void memoizedResultsAgree() {
+        Date date = new Date(2008, 3, 16);
+        assertFalse(validator.isValid(date));
+        assertFalse(validator.isValid(date));
+        assertTrue(validator.isCollegeCheckingAge(new Date(2005, 7, 1)));
+        assertTrue(validator.isCollegeCheckingAge(new Date(2005, 7, 1)));
+    }
+
+    /**
+     * Validators for different days disagree about a birthday between them.
+     */
+    @Test
+    void todayComesFromTheClock() {
+        Clock dayBefore = Clock.offset(TODAY, Duration.ofDays(-1));
+        assertFalse(DateValidator.of(dayBefore).isValid(new Date(2008, 3, 15)));
+        assertTrue(validator.isValid(new Date(2008, 3, 15)));
+    }
+
+    /**
+     * {@link Date#isValid()} and {@link Date#getLastMessage()} follow the clock set with
+     * {@link DateValidator#setClock}.
+     */
+    @Test
+    void dateFollowsTheSharedClock() {
+        DateValidator.setClock(TODAY);
+        Date tooYoung = new Date(2008, 3, 16);
+        assertFalse(tooYoung.isValid());
+        assertEquals("Age cannot be less than 16!", tooYoung.getLastMessage());
+        assertTrue(new Date(2008, 3, 15).isValid());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.rubankfx.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link Money#appendDollars} writes amounts exactly as {@code Double.toString} does,
+ * which is how account listings showed balances before.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+class MoneyTest {
+
+    /**
+     * Asserts that one amount is written as {@code Double.toString} writes it.
+     *
+     * @param cents the amount in cents.
+     */
+    private static void assertSameAsDoubleToString(long cents) {
+        String expected = Double.toString(Money.toDollars(cents));
+        assertEquals(expected, Money.appendDollars(new StringBuilder(), cents).toString(), "cents = " + cents);
+    }
+
+    /**
+     * Every amount up to a thousand dollars either way, which covers each cents pattern and sign.
+     */
+    @Test
+    void smallAmountsMatchDoubleToString() {
+        for (long cents = -100_000; cents <= 100_000; cents++) {
+            assertSameAsDoubleToString(cents);
+        }
+    }
+
+    /**
+     * Amounts around ten million dollars, where {@code Double.toString} switches to scientific notation.
+     */
+    @Test
+    void amountsAroundScientificNotationMatchDoubleToString() {
+        long limit = 1_000_000_000L;
+        for (long cents = limit - 1_000; cents <= limit + 1_000; cents++) {
+            assertSameAsDoubleToString(cents);
+            assertSameAsDoubleToString(-cents);
+        }
+    }
+
+    /**
+     * Random amounts over the whole range of plain notation and beyond.
+     */
+    @Test
+    void randomAmountsMatchDoubleToString() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            assertSameAsDoubleToString(random.nextLong() % 2_000_000_000L);
+        }
+    }
+
+    /**
+     * The amount is appended after what the builder already holds.
+     */
+    @Test
+    void appendsToExistingText() {
+        assertEquals("Balance $36.96", Money.appendDollars(new StringBuilder("Balance $"), 3696).toString());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.rubankfx.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link AccountDatabase#updateBalancesParallel(ForkJoinPool)} leaves every account as the
+ * sequential {@link AccountDatabase#updateBalances()} does, and that its totals are those of the accounts,
+ * whatever the number of workers.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+class ParallelMonthEndTest {
+
+    /** Enough accounts to split the rows into several fork-join partitions. */
+    private static final int ACCOUNTS = 60_000;
+
+    /**
+     * Opens the same accounts for the same seed in a new database.
+     *
+     * @param seed the seed of the accounts.
+     * @return the database.
+     */
+    private static AccountDatabase database(long seed) {
+        Random random = new Random(seed);
+        AccountDatabase database = new AccountDatabase(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Profile profile = new Profile("First" + i, "Last" + random.nextInt(1_000),
+                    new Date(1950 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            double dollars = Money.toDollars(random.nextInt(500_000));
+            switch (random.nextInt(4)) {
+                case 0:
+                    database.open(new Checking(profile, dollars));
+                    break;
+                case 1:
+                    database.open(new CollegeChecking(profile, dollars, random.nextInt(3)));
+                    break;
+                case 2:
+                    database.open(new Savings(profile, dollars, random.nextBoolean()));
+                    break;
+                default:
+                    MoneyMarket account = new MoneyMarket(profile, dollars);
+                    account.setWithdrawals(random.nextInt(6));
+                    database.open(account);
+                    break;
+            }
+        }
+        return database;
+    }
+
+    /**
+     * Renders every account of a database, in sorted order.
+     *
+     * @param database the database.
+     * @return one line per account, with its balance and flags.
+     */
+    private static List<String> rows(AccountDatabase database) {
+        List<String> rows = new ArrayList<>();
+        for (Account account : database.sortedView()) {
+            rows.add(account.toString());
+        }
+        return rows;
+    }
+
+    /**
+     * Runs one parallel month-end on a pool of the given size.
+     *
+     * @param database    the database to update.
+     * @param parallelism the number of workers.
+     * @return the totals of the pass.
+     */
+    private static MonthEndTotals updateOn(AccountDatabase database, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return database.updateBalancesParallel(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Three parallel month-ends give the same accounts as three sequential ones.
+     */
+    @Test
+    void parallelPassMatchesSequentialPass() {
+        AccountDatabase parallel = database(1);
+        AccountDatabase sequential = database(1);
+        for (int month = 1; month <= 3; month++) {
+            updateOn(parallel, 4);
+            sequential.updateBalances();
+            assertEquals(rows(sequential), rows(parallel), "month " + month);
+        }
+    }
+
+    /**
+     * The totals count every account and add up the fee and interest each account reports for the
+     * month, computed on copies taken before the pass.
+     */
+    @Test
+    void totalsAddUpTheAccounts() {
+        AccountDatabase database = database(2);
+        long fees = 0;
+        long interest = 0;
+        for (Account account : database.sortedCopies()) {
+            fees += Money.toCents(account.monthlyFee());
+            interest += Money.toCents(account.monthlyInterest());
+        }
+        MonthEndTotals totals = updateOn(database, 4);
+        assertEquals(ACCOUNTS, totals.getAccounts());
+        assertEquals(Money.toDollars(fees), totals.getFees());
+        assertEquals(Money.toDollars(interest), totals.getInterest());
+    }
+
+    /**
+     * The same accounts give the same totals and balances on one worker as on several.
+     */
+    @Test
+    void totalsDoNotDependOnTheNumberOfWorkers() {
+        AccountDatabase single = database(3);
+        MonthEndTotals expected = updateOn(single, 1);
+        for (int parallelism : new int[] {2, 3, 8}) {
+            AccountDatabase database = database(3);
+            assertEquals(expected.toString(), updateOn(database, parallelism).toString(), parallelism + " workers");
+            assertEquals(rows(single), rows(database), parallelism + " workers");
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.rubankfx.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips through {@link TransactionJournal}: a database rebuilt from its journal must match the one that
+ * wrote it, a torn last record must be dropped without losing the records before it, and a checkpoint must
+ * shrink the journal without changing what it rebuilds.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+class TransactionJournalTest {
+
+    /** Temporary directory for the journal files. */
+    @TempDir
+    Path dir;
+
+    /** Holder of a Checking account. */
+    private static final Profile ALICE = new Profile("Alice", "Archer", new Date(1990, 1, 15));
+
+    /** Holder of a Savings account. */
+    private static final Profile BOB = new Profile("Bob", "Baker", new Date(1985, 6, 30));
+
+    /** Holder of a Money Market account. */
+    private static final Profile CAROL = new Profile("Carol", "Cole", new Date(1979, 11, 2));
+
+    /**
+     * Renders every account of a database, in sorted order.
+     *
+     * @param database the database.
+     * @return one line per account, with its balance and flags.
+     */
+    private static List<String> rows(AccountDatabase database) {
+        List<String> rows = new ArrayList<>();
+        for (Account account : database.sortedView()) {
+            rows.add(account.toString());
+        }
+        return rows;
+    }
+
+    /**
+     * Rebuilds a database from a journal file.
+     *
+     * @param path the journal file.
+     * @return the rebuilt database.
+     * @throws IOException if the file cannot be read.
+     */
+    private static AccountDatabase replay(Path path) throws IOException {
+        AccountDatabase database = new AccountDatabase();
+        TransactionJournal.replay(path, database);
+        return database;
+    }
+
+    /**
+     * Every kind of change, including a refused withdrawal, a batch and a month-end, is rebuilt as it was made.
+     *
+     * @throws IOException if the journal cannot be written or read.
+     */
+    @Test
+    void replayRebuildsTheDatabase() throws IOException {
+        Path path = dir.resolve("transactions.journal");
+        AccountDatabase database = new AccountDatabase();
+        TransactionJournal journal = new TransactionJournal(path);
+        database.setJournal(journal);
+        database.open(new Checking(ALICE, 100));
+        database.open(new Savings(BOB, 1000, true));
+        database.open(new MoneyMarket(CAROL, 3000));
+        database.openAll(new Account[] {
+                new CollegeChecking(new Profile("Dan", "Dale", new Date(2001, 3, 4)), 250, 2),
+                new Checking(ALICE, 5),
+                new Savings(new Profile("Eve", "Elm", new Date(1966, 7, 8)), 75.5, false)}, 3);
+        database.deposit(ALICE, "C", 20.25);
+        assertNotNull(database.withdraw(BOB, "S", 5000));
+        database.withdraw(CAROL, "MM", 1200);
+        database.applyBatch(Arrays.asList(Transaction.deposit(BOB, "S", 1), Transaction.withdraw(ALICE, "C", 10)));
+        database.updateBalances();
+        database.close(new Checking(new Profile("Dan", "Dale", new Date(2001, 3, 4)), 0));
+        database.updateBalancesParallel();
+        journal.close();
+
+        assertEquals(rows(database), rows(replay(path)));
+    }
+
+    /**
+     * A record cut short by a crash is dropped, with the file truncated before it; the records before it
+     * are kept, and a journal opened afterwards appends after them.
+     *
+     * @throws IOException if the journal cannot be written or read.
+     */
+    @Test
+    void tornTailIsDropped() throws IOException {
+        Path path = dir.resolve("torn.journal");
+        AccountDatabase database = new AccountDatabase();
+        TransactionJournal journal = new TransactionJournal(path);
+        database.setJournal(journal);
+        database.open(new Checking(ALICE, 100));
+        database.open(new Savings(BOB, 1000, false));
+        List<String> beforeDeposit = rows(database);
+        long intact = Files.size(path);
+        database.deposit(ALICE, "C", 50);
+        journal.close();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        AccountDatabase rebuilt = new AccountDatabase();
+        assertEquals(2, TransactionJournal.replay(path, rebuilt));
+        assertEquals(beforeDeposit, rows(rebuilt));
+        assertEquals(intact, Files.size(path));
+
+        journal = new TransactionJournal(path);
+        rebuilt.setJournal(journal);
+        rebuilt.deposit(BOB, "S", 25);
+        journal.close();
+        assertEquals(rows(rebuilt), rows(replay(path)));
+    }
+
+    /**
+     * A checkpoint rewrites a long journal as one record per account, which rebuilds the same database,
+     * and later changes are appended to it.
+     *
+     * @throws IOException if the journal cannot be written or read.
+     */
+    @Test
+    void checkpointCompactsTheJournal() throws IOException {
+        Path path = dir.resolve("checkpoint.journal");
+        AccountDatabase database = new AccountDatabase();
+        TransactionJournal journal = new TransactionJournal(path);
+        database.setJournal(journal);
+        database.open(new Checking(ALICE, 100));
+        database.open(new MoneyMarket(CAROL, 3000));
+        for (int i = 0; i < 500; i++) {
+            database.deposit(ALICE, "C", 1);
+            database.withdraw(CAROL, "MM", 1);
+        }
+        database.updateBalances();
+        long before = Files.size(path);
+        database.checkpoint();
+        assertTrue(Files.size(path) < before / 10, "journal of " + Files.size(path) + " bytes after checkpoint");
+        assertEquals(rows(database), rows(replay(path)));
+
+        database.deposit(CAROL, "MM", 10);
+        database.getJournal().close();
+        assertEquals(rows(database), rows(replay(path)));
+    }
+
+    /**
+     * Once the journal cannot be written, the change that failed is reported, later changes are refused
+     * before they are applied, and attaching a journal again lets changes through.
+     *
+     * @throws IOException if the journal cannot be opened.
+     */
+    @Test
+    void changesAreRefusedAfterAJournalFailure() throws IOException {
+        Path path = dir.resolve("failed.journal");
+        AccountDatabase database = new AccountDatabase();
+        TransactionJournal journal = new TransactionJournal(path);
+        database.setJournal(journal);
+        database.open(new Checking(ALICE, 100));
+        journal.close();
+
+        assertThrows(UncheckedIOException.class, () -> database.deposit(ALICE, "C", 1));
+        assertNotNull(database.getJournalFailure());
+        assertThrows(UncheckedIOException.class, () -> database.open(new Savings(BOB, 10, false)));
+        assertFalse(database.contains(new Savings(BOB, 10, false)));
+
+        TransactionJournal reopened = new TransactionJournal(dir.resolve("reopened.journal"));
+        database.setJournal(reopened);
+        assertNull(database.getJournalFailure());
+        assertTrue(database.open(new Savings(BOB, 10, false)));
+        reopened.close();
+    }
+}
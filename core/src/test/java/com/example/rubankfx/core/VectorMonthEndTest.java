@@ -0,0 +1,104 @@
+package com.example.rubankfx.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the Vector API month-end engine leaves every account exactly as the scalar pass does,
+ * for runs of each type whose lengths are not multiples of the vector length. Skipped when the
+ * {@code jdk.incubator.vector} module is not present, as the database then never uses the engine.
+ *
+ * @author Arun Felix, Digvijay Singh
+ */
+class VectorMonthEndTest {
+
+    /**
+     * Picks a balance in cents. Half of them lie just around the fee and loyalty thresholds, where a
+     * wrong comparison or rounding in a kernel would show; the rest are spread up to ten thousand dollars.
+     *
+     * @param random the source of the balances.
+     * @return the balance in cents.
+     */
+    private static long balance(Random random) {
+        if (random.nextBoolean()) {
+            return random.nextInt(1_000_000);
+        }
+        long[] thresholds = {Checking.FEE_WAIVER_BALANCE, Savings.MIN_BALANCE_REQUIRED, MoneyMarket.MIN_BALANCE};
+        return thresholds[random.nextInt(thresholds.length)] + random.nextInt(401) - 200;
+    }
+
+    /**
+     * Opens the same accounts for the same seed in a new database, of every type and with Money Market
+     * withdrawal counts on both sides of the limit.
+     *
+     * @param seed  the seed of the accounts.
+     * @param count the number of accounts to try to open; duplicates are skipped.
+     * @return the database.
+     */
+    private static AccountDatabase database(long seed, int count) {
+        Random random = new Random(seed);
+        AccountDatabase database = new AccountDatabase();
+        for (int i = 0; i < count; i++) {
+            Profile profile = new Profile("First" + random.nextInt(500), "Last" + random.nextInt(50),
+                    new Date(1950 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            double dollars = Money.toDollars(balance(random));
+            switch (random.nextInt(4)) {
+                case 0:
+                    database.open(new Checking(profile, dollars));
+                    break;
+                case 1:
+                    database.open(new CollegeChecking(profile, dollars, random.nextInt(3)));
+                    break;
+                case 2:
+                    database.open(new Savings(profile, dollars, random.nextBoolean()));
+                    break;
+                default:
+                    MoneyMarket account = new MoneyMarket(profile, dollars);
+                    account.setWithdrawals(random.nextInt(MoneyMarket.MAX_WITHDRAWALS * 2));
+                    account.setLoyal(random.nextBoolean());
+                    database.open(account);
+                    break;
+            }
+        }
+        return database;
+    }
+
+    /**
+     * Renders every account of a database, in sorted order.
+     *
+     * @param database the database.
+     * @return one line per account, with its balance and flags.
+     */
+    private static List<String> rows(AccountDatabase database) {
+        List<String> rows = new ArrayList<>();
+        for (Account account : database.sortedView()) {
+            rows.add(account.toString());
+        }
+        return rows;
+    }
+
+    /**
+     * A year of month-ends with the vector engine gives the same accounts as with the scalar pass after
+     * every month, for databases too small to fill a vector and large enough to leave a remainder.
+     */
+    @Test
+    void vectorPassMatchesScalarPass() {
+        for (int count : new int[] {0, 1, 3, 17, 250, 4_099}) {
+            AccountDatabase vector = database(count, count);
+            assumeTrue(vector.setVectorMonthEnd(true), "jdk.incubator.vector is not present");
+            AccountDatabase scalar = database(count, count);
+            scalar.setVectorMonthEnd(false);
+            for (int month = 1; month <= 12; month++) {
+                vector.updateBalances();
+                scalar.updateBalances();
+                assertEquals(rows(scalar), rows(vector), count + " accounts, month " + month);
+            }
+        }
+    }
+}